@@ -0,0 +1,48 @@
+package com.pokemonreview.api.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Runs the benchmarks with the regular JMH command line, but always writes JSON results so runs of
+ * different builds can be compared. BCrypt runs at the strength configured in application.properties
+ * unless {@code -p strength=...} is given.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .resultFormat(ResultFormatType.JSON);
+        if (!commandLine.getResult().hasValue()) {
+            options.result("jmh-result.json");
+        }
+        if (!commandLine.getParameter("strength").hasValue()) {
+            options.param("strength", configuredBcryptStrength());
+        }
+        new Runner(options.build()).run();
+    }
+
+    private static String configuredBcryptStrength() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = BenchmarkRunner.class.getResourceAsStream("/application.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        }
+        return properties.getProperty("security.bcrypt.strength", "10");
+    }
+}
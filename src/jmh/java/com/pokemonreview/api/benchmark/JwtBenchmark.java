@@ -0,0 +1,72 @@
+package com.pokemonreview.api.benchmark;
+
+import com.pokemonreview.api.security.JWTClaimsCache;
+import com.pokemonreview.api.security.JWTGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification. The cached variants hit {@link JWTClaimsCache}, which is what repeat requests
+ * with the same token see; the uncached ones pay for the signature check every time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JWTGenerator cachedGenerator;
+    private JWTGenerator uncachedGenerator;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setup() {
+        cachedGenerator = new JWTGenerator(new JWTClaimsCache(10000));
+        uncachedGenerator = new JWTGenerator(new JWTClaimsCache(0));
+        authentication = new UsernamePasswordAuthenticationToken("ash", null,
+                List.of(new SimpleGrantedAuthority("USER")));
+        token = cachedGenerator.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedGenerator.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cachedGenerator.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncachedGenerator.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromJWTCached() {
+        return cachedGenerator.getUsernameFromJWT(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromJWTUncached() {
+        return uncachedGenerator.getUsernameFromJWT(token);
+    }
+}
@@ -0,0 +1,71 @@
+package com.pokemonreview.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.PokemonResponse;
+import com.pokemonreview.api.dto.ReviewDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response body serialization with an {@link ObjectMapper} configured like the one Spring MVC uses.
+ * Page sizes cover the default page (10), the maximum page (100) and an unpaged review list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private PokemonResponse pokemonResponse;
+    private List<ReviewDto> reviews;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<PokemonDto> pokemons = new ArrayList<>(size);
+        reviews = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            pokemons.add(PokemonDto.builder().id(i).name("pokemon-" + i).type(i % 2 == 0 ? "electric" : "water").build());
+            reviews.add(new ReviewDto(i, "title " + i, "A fairly ordinary review body for review number " + i, i % 5 + 1));
+        }
+        pokemonResponse = new PokemonResponse();
+        pokemonResponse.setContent(pokemons);
+        pokemonResponse.setPageSize(size);
+        pokemonResponse.setTotalElements((long) size);
+        pokemonResponse.setTotalPages(1);
+        pokemonResponse.setLast(true);
+    }
+
+    @Benchmark
+    public byte[] pokemonResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pokemonResponse);
+    }
+
+    @Benchmark
+    public byte[] reviewList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(reviews);
+    }
+}
@@ -0,0 +1,67 @@
+package com.pokemonreview.api.service.impl;
+
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.Review;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity to DTO mapping the way the services do it, over lists up to 100k rows. Lives in the impl package
+ * because the mappers are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int size;
+
+    private PokemonServiceImpl pokemonService;
+    private ReviewServiceImpl reviewService;
+    private List<Pokemon> pokemons;
+    private List<Review> reviews;
+
+    @Setup
+    public void setup() {
+        pokemonService = new PokemonServiceImpl(null, null, null, null, null, null);
+        reviewService = new ReviewServiceImpl(null, null, null, null, null);
+
+        pokemons = new ArrayList<>(size);
+        reviews = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            Pokemon pokemon = Pokemon.builder().id(i).name("pokemon-" + i).type(i % 2 == 0 ? "electric" : "water").build();
+            pokemons.add(pokemon);
+            reviews.add(Review.builder().id(i).title("title " + i).content("content " + i).stars(i % 5 + 1).pokemon(pokemon).build());
+        }
+    }
+
+    @Benchmark
+    public List<PokemonDto> pokemonMapToDto() {
+        return pokemons.stream().map(pokemonService::mapToDto).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ReviewDto> reviewMapToDto() {
+        return reviews.stream().map(reviewService::mapToDto).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,119 @@
+package com.pokemonreview.api.loadtest;
+
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.RegisterDto;
+import com.pokemonreview.api.dto.ReviewIngestResponse;
+import com.pokemonreview.api.models.Role;
+import com.pokemonreview.api.repository.RoleRepository;
+import com.pokemonreview.api.service.PokemonService;
+import com.pokemonreview.api.service.ReviewIngestService;
+import com.pokemonreview.api.service.UserService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fills the database through the application's own services, so ratings and the search index are built the
+ * same way as in production. Reviews go through the bulk ingest path to keep seeding fast.
+ */
+final class DataSeeder {
+    static final String USERNAME = "loadtest";
+    static final String PASSWORD = "loadtest-password";
+
+    static final String[] TYPES = {"normal", "fire", "water", "grass", "electric", "ice", "fighting", "poison",
+            "ground", "flying", "psychic", "bug", "rock", "ghost", "dragon", "dark", "steel", "fairy"};
+    static final String[] WORDS = {"fast", "strong", "cute", "loyal", "fierce", "clumsy", "brave", "sleepy",
+            "shiny", "rare", "classic", "underrated", "overpowered", "tanky", "fragile", "reliable"};
+
+    private final ApplicationContext context;
+
+    DataSeeder(ApplicationContext context) {
+        this.context = context;
+    }
+
+    SeededData seed(int pokemonCount, int reviewsPerPokemon) throws IOException {
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        for (String name : new String[]{"USER", "ADMIN"}) {
+            if (roleRepository.findByName(name).isEmpty()) {
+                Role role = new Role();
+                role.setName(name);
+                roleRepository.save(role);
+            }
+        }
+        RegisterDto user = new RegisterDto();
+        user.setUsername(USERNAME);
+        user.setPassword(PASSWORD);
+        context.getBean(UserService.class).register(user);
+
+        PokemonService pokemonService = context.getBean(PokemonService.class);
+        int[] pokemonIds = new int[pokemonCount];
+        for (int i = 0; i < pokemonCount; i++) {
+            pokemonIds[i] = pokemonService.createPokemon(PokemonDto.builder()
+                    .name("pokemon-" + i)
+                    .type(TYPES[i % TYPES.length])
+                    .build()).getId();
+        }
+
+        ReviewIngestResponse ingested = ingestReviews(pokemonIds, reviewsPerPokemon);
+        if (ingested.getRejected() > 0) {
+            throw new IllegalStateException("Seeding rejected " + ingested.getRejected() + " reviews: " + ingested.getErrors());
+        }
+
+        List<int[]> rows = context.getBean(JdbcTemplate.class).query("select id, pokemon_id from review order by id",
+                (rs, rowNum) -> new int[]{rs.getInt(1), rs.getInt(2)});
+        int[] reviewIds = new int[rows.size()];
+        int[] reviewPokemonIds = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            reviewIds[i] = rows.get(i)[0];
+            reviewPokemonIds[i] = rows.get(i)[1];
+        }
+        return new SeededData(pokemonIds, reviewIds, reviewPokemonIds, WORDS);
+    }
+
+    private ReviewIngestResponse ingestReviews(int[] pokemonIds, int reviewsPerPokemon) throws IOException {
+        PipedInputStream in = new PipedInputStream(1 << 16);
+        PipedOutputStream out = new PipedOutputStream(in);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            Random random = new Random(42);
+            try (Writer json = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+                json.write('[');
+                boolean first = true;
+                for (int pokemonId : pokemonIds) {
+                    for (int i = 0; i < reviewsPerPokemon; i++) {
+                        if (!first) {
+                            json.write(',');
+                        }
+                        first = false;
+                        json.write("{\"pokemonId\":" + pokemonId
+                                + ",\"title\":\"" + word(random) + " " + word(random)
+                                + "\",\"content\":\"" + word(random) + " and " + word(random) + ", " + word(random)
+                                + " in battle\",\"stars\":" + (random.nextInt(5) + 1) + "}");
+                    }
+                }
+                json.write(']');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        try {
+            return context.getBean(ReviewIngestService.class).ingest(in);
+        } finally {
+            in.close();
+            writer.join();
+        }
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
@@ -0,0 +1,161 @@
+package com.pokemonreview.api.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests until {@link #stop} is called.
+ *
+ * <p>Closed loop: a fixed number of workers each send a request and wait for the answer before sending the
+ * next one, so throughput follows the server. Open loop: requests start on a fixed schedule regardless of how
+ * many are outstanding, and latency is measured from the scheduled start rather than the actual send, so a
+ * stalled server shows up in the percentiles instead of silently lowering the request rate. Requests that
+ * would exceed the in-flight cap are counted as dropped errors.
+ */
+final class LoadDriver {
+    private final HttpClient client;
+    private final URI base;
+    private final SeededData data;
+    private final RouteMix mix;
+    private final String authorization;
+    private final Map<Route, RouteStats> stats = new EnumMap<>(Route.class);
+    private final LongAdder dropped = new LongAdder();
+    private final List<Thread> threads = new ArrayList<>();
+
+    private volatile boolean running;
+    private Semaphore inFlight;
+    private int maxInFlight;
+
+    LoadDriver(HttpClient client, URI base, SeededData data, RouteMix mix, String token) {
+        this.client = client;
+        this.base = base;
+        this.data = data;
+        this.mix = mix;
+        this.authorization = "Bearer " + token;
+        for (Route route : mix.routes()) {
+            stats.put(route, new RouteStats(route));
+        }
+    }
+
+    void startClosed(int concurrency) {
+        running = true;
+        for (int i = 0; i < concurrency; i++) {
+            start("load-worker-" + i, this::closedLoop);
+        }
+    }
+
+    void startOpen(int rate, int maxInFlight) {
+        running = true;
+        this.maxInFlight = maxInFlight;
+        inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        start("load-pacer", () -> openLoop(intervalNanos));
+    }
+
+    void resetStats() {
+        stats.values().forEach(RouteStats::reset);
+        dropped.reset();
+    }
+
+    /** Stops sending and waits for outstanding requests, so their latencies are included. */
+    void stop() throws InterruptedException {
+        running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (inFlight != null && inFlight.tryAcquire(maxInFlight, 30, TimeUnit.SECONDS)) {
+            inFlight.release(maxInFlight);
+        }
+    }
+
+    Map<Route, RouteStats> stats() {
+        return stats;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    private void start(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        threads.add(thread);
+        thread.start();
+    }
+
+    private void closedLoop() {
+        Random random = ThreadLocalRandom.current();
+        while (running) {
+            Route route = mix.pick(random);
+            HttpRequest request = request(route, random);
+            long start = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                record(route, response.statusCode(), System.nanoTime() - start);
+            } catch (IOException ex) {
+                stats.get(route).recordError();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void openLoop(long intervalNanos) {
+        Random random = new Random();
+        long next = System.nanoTime();
+        while (running) {
+            long now;
+            while ((now = System.nanoTime()) < next) {
+                LockSupport.parkNanos(next - now);
+            }
+            long intended = next;
+            next += intervalNanos;
+
+            Route route = mix.pick(random);
+            if (!inFlight.tryAcquire()) {
+                dropped.increment();
+                stats.get(route).recordError();
+                continue;
+            }
+            client.sendAsync(request(route, random), HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, ex) -> {
+                        inFlight.release();
+                        if (ex != null) {
+                            stats.get(route).recordError();
+                        } else {
+                            record(route, response.statusCode(), System.nanoTime() - intended);
+                        }
+                    });
+        }
+    }
+
+    private HttpRequest request(Route route, Random random) {
+        return route.request(base, data, random)
+                .header("Authorization", authorization)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private void record(Route route, int status, long nanos) {
+        if ((status >= 200 && status < 300) || status == 304) {
+            stats.get(route).recordSuccess(nanos);
+        } else {
+            stats.get(route).recordError();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.pokemonreview.api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokemonreview.api.ApiApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test: boots the application on an in-memory H2 database, seeds it, logs in through
+ * {@code /api/auth/login} and drives a weighted mix of endpoints over real HTTP. Prints throughput and
+ * p50/p99/p99.9 latency per route and writes the same numbers as JSON for comparing builds.
+ *
+ * <p>The load generator shares the JVM and the machine with the server, so compare runs from the same box
+ * with the same settings rather than reading the absolute numbers as capacity.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        RouteMix mix = RouteMix.parse(options.mix);
+
+        ConfigurableApplicationContext context = SpringApplication.run(ApiApplication.class, options.applicationArgs());
+        try {
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            long seedStart = System.nanoTime();
+            SeededData data = new DataSeeder(context).seed(options.pokemon, options.reviewsPerPokemon);
+            System.out.printf("Seeded %d pokemon and %d reviews in %d ms%n", data.pokemonIds.length, data.reviewIds.length,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+
+            URI base = URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort());
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            String token = login(client, base, objectMapper);
+
+            LoadDriver driver = new LoadDriver(client, base, data, mix, token);
+            if ("open".equals(options.mode)) {
+                driver.startOpen(options.rate, options.maxInFlight);
+            } else {
+                driver.startClosed(options.concurrency);
+            }
+            System.out.printf("Running %s loop: %d s warmup, %d s measured%n", options.mode, options.warmupSeconds,
+                    options.durationSeconds);
+            Thread.sleep(TimeUnit.SECONDS.toMillis(options.warmupSeconds));
+            driver.resetStats();
+            long start = System.nanoTime();
+            Thread.sleep(TimeUnit.SECONDS.toMillis(options.durationSeconds));
+            driver.stop();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Map<String, Object> report = report(options, driver, seconds);
+            print(report, System.out);
+            Path output = Path.of(options.output);
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+            System.out.println("Results written to " + output.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static String login(HttpClient client, URI base, ObjectMapper objectMapper) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("username", DataSeeder.USERNAME, "password", DataSeeder.PASSWORD));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(base.resolve("/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with status " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body()).get("accessToken").asText();
+    }
+
+    private static Map<String, Object> report(LoadTestOptions options, LoadDriver driver, double seconds) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("mode", options.mode);
+        config.put("concurrency", options.concurrency);
+        config.put("rate", options.rate);
+        config.put("maxInFlight", options.maxInFlight);
+        config.put("pokemon", options.pokemon);
+        config.put("reviewsPerPokemon", options.reviewsPerPokemon);
+        config.put("warmupSeconds", options.warmupSeconds);
+        config.put("durationSeconds", options.durationSeconds);
+        config.put("mix", options.mix);
+        config.put("applicationProperties", options.applicationProperties);
+
+        List<Map<String, Object>> routes = new ArrayList<>();
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (RouteStats stats : driver.stats().values()) {
+            Histogram histogram = stats.histogram();
+            total.add(histogram);
+            totalErrors += stats.errors();
+            routes.add(row(stats.route().routeName(), histogram, stats.errors(), seconds));
+        }
+        routes.add(row("total", total, totalErrors, seconds));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("measuredSeconds", seconds);
+        report.put("dropped", driver.dropped());
+        report.put("routes", routes);
+        return report;
+    }
+
+    private static Map<String, Object> row(String route, Histogram histogram, long errors, double seconds) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("route", route);
+        row.put("requests", histogram.getTotalCount());
+        row.put("errors", errors);
+        row.put("throughput", histogram.getTotalCount() / seconds);
+        row.put("p50Millis", millis(histogram, 50));
+        row.put("p99Millis", millis(histogram, 99));
+        row.put("p999Millis", millis(histogram, 99.9));
+        row.put("maxMillis", histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue() / 1000.0);
+        return row;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> report, PrintStream out) {
+        out.printf("%n%-16s %10s %8s %10s %10s %10s %10s %10s%n",
+                "route", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map<String, Object> row : (List<Map<String, Object>>) report.get("routes")) {
+            out.printf("%-16s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", row.get("route"), row.get("requests"),
+                    row.get("errors"), row.get("throughput"), row.get("p50Millis"), row.get("p99Millis"),
+                    row.get("p999Millis"), row.get("maxMillis"));
+        }
+        if ((long) report.get("dropped") > 0) {
+            out.printf("%d requests dropped at the in-flight limit%n", report.get("dropped"));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.pokemonreview.api.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Harness settings, given as {@code --name=value} arguments. Anything the harness does not know is handed
+ * to the Spring Boot application, so {@code --security.bcrypt.strength=12} and the like work as usual.
+ */
+final class LoadTestOptions {
+    static final String DEFAULT_MIX = "pokemon-list=20,pokemon-detail=25,pokemon-types=5,reviews-list=25,"
+            + "review-detail=15,review-create=5,review-search=5";
+
+    int pokemon = 1000;
+    int reviewsPerPokemon = 20;
+    int warmupSeconds = 10;
+    int durationSeconds = 60;
+    String mode = "closed";
+    int concurrency = 32;
+    int rate = 500;
+    int maxInFlight = 1000;
+    String mix = DEFAULT_MIX;
+    String output = "target/loadtest-result.json";
+    final Map<String, String> applicationProperties = new LinkedHashMap<>();
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "pokemon": options.pokemon = Integer.parseInt(value); break;
+                case "reviews-per-pokemon": options.reviewsPerPokemon = Integer.parseInt(value); break;
+                case "warmup": options.warmupSeconds = Integer.parseInt(value); break;
+                case "duration": options.durationSeconds = Integer.parseInt(value); break;
+                case "mode": options.mode = value; break;
+                case "concurrency": options.concurrency = Integer.parseInt(value); break;
+                case "rate": options.rate = Integer.parseInt(value); break;
+                case "max-in-flight": options.maxInFlight = Integer.parseInt(value); break;
+                case "mix": options.mix = value; break;
+                case "output": options.output = value; break;
+                default: options.applicationProperties.put(name, value);
+            }
+        }
+        if (!"closed".equals(options.mode) && !"open".equals(options.mode)) {
+            throw new IllegalArgumentException("--mode must be open or closed");
+        }
+        if (options.pokemon < 1 || options.concurrency < 1 || options.rate < 1 || options.durationSeconds < 1) {
+            throw new IllegalArgumentException("--pokemon, --concurrency, --rate and --duration must be positive");
+        }
+        return options;
+    }
+
+    /** Application arguments: an in-memory H2 database on a random port, overridable from the command line. */
+    String[] applicationArgs() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        // A single load-test user would otherwise be throttled by its own token bucket.
+        properties.put("security.rate-limit.enabled", "false");
+        properties.putAll(applicationProperties);
+        return properties.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+    }
+}
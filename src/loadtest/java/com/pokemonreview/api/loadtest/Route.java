@@ -0,0 +1,98 @@
+package com.pokemonreview.api.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * The endpoints the harness can drive. Ids are drawn uniformly from the seeded data.
+ */
+enum Route {
+    POKEMON_LIST("pokemon-list") {
+        @Override
+        HttpRequest.Builder request(URI base, SeededData data, Random random) {
+            int pages = Math.max(1, data.pokemonIds.length / 10);
+            return get(base, "/api/pokemon?pageNo=" + random.nextInt(pages) + "&pageSize=10");
+        }
+    },
+    POKEMON_DETAIL("pokemon-detail") {
+        @Override
+        HttpRequest.Builder request(URI base, SeededData data, Random random) {
+            return get(base, "/api/pokemon/" + pick(data.pokemonIds, random));
+        }
+    },
+    POKEMON_TYPES("pokemon-types") {
+        @Override
+        HttpRequest.Builder request(URI base, SeededData data, Random random) {
+            return get(base, "/api/pokemon/types");
+        }
+    },
+    REVIEWS_LIST("reviews-list") {
+        @Override
+        HttpRequest.Builder request(URI base, SeededData data, Random random) {
+            return get(base, "/api/pokemon/" + pick(data.pokemonIds, random) + "/reviews?limit=20");
+        }
+    },
+    REVIEW_DETAIL("review-detail") {
+        @Override
+        HttpRequest.Builder request(URI base, SeededData data, Random random) {
+            if (data.reviewIds.length == 0) {
+                return POKEMON_DETAIL.request(base, data, random);
+            }
+            int i = random.nextInt(data.reviewIds.length);
+            return get(base, "/api/pokemon/" + data.reviewPokemonIds[i] + "/reviews/" + data.reviewIds[i]);
+        }
+    },
+    REVIEW_CREATE("review-create") {
+        @Override
+        HttpRequest.Builder request(URI base, SeededData data, Random random) {
+            String body = "{\"title\":\"load test\",\"content\":\"" + pick(data.searchTerms, random)
+                    + " review\",\"stars\":" + (random.nextInt(5) + 1) + "}";
+            return HttpRequest.newBuilder(base.resolve("/api/pokemon/" + pick(data.pokemonIds, random) + "/reviews"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    },
+    REVIEW_SEARCH("review-search") {
+        @Override
+        HttpRequest.Builder request(URI base, SeededData data, Random random) {
+            String query = pick(data.searchTerms, random) + " " + pick(data.searchTerms, random);
+            return get(base, "/api/reviews/search?limit=20&q=" + URLEncoder.encode(query, StandardCharsets.UTF_8));
+        }
+    };
+
+    private final String routeName;
+
+    Route(String routeName) {
+        this.routeName = routeName;
+    }
+
+    String routeName() {
+        return routeName;
+    }
+
+    abstract HttpRequest.Builder request(URI base, SeededData data, Random random);
+
+    static Route byName(String name) {
+        for (Route route : values()) {
+            if (route.routeName.equals(name)) {
+                return route;
+            }
+        }
+        throw new IllegalArgumentException("Unknown route " + name);
+    }
+
+    private static HttpRequest.Builder get(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).GET();
+    }
+
+    private static int pick(int[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
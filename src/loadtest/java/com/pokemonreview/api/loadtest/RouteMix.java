@@ -0,0 +1,49 @@
+package com.pokemonreview.api.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Weighted choice between routes, parsed from {@code route=weight,route=weight}.
+ */
+final class RouteMix {
+    private final Route[] routes;
+    private final int[] cumulativeWeights;
+
+    private RouteMix(Route[] routes, int[] cumulativeWeights) {
+        this.routes = routes;
+        this.cumulativeWeights = cumulativeWeights;
+    }
+
+    static RouteMix parse(String mix) {
+        List<Route> routes = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight <= 0) {
+                continue;
+            }
+            total += weight;
+            routes.add(Route.byName(parts[0].trim()));
+            cumulative.add(total);
+        }
+        if (routes.isEmpty()) {
+            throw new IllegalArgumentException("--mix must give at least one route a positive weight");
+        }
+        return new RouteMix(routes.toArray(new Route[0]), cumulative.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    Route pick(Random random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = Arrays.binarySearch(cumulativeWeights, ticket + 1);
+        return routes[index >= 0 ? index : -index - 1];
+    }
+
+    Route[] routes() {
+        return routes.clone();
+    }
+}
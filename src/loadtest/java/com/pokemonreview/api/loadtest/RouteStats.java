@@ -0,0 +1,45 @@
+package com.pokemonreview.api.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error counts for one route. Latencies are recorded in microseconds; {@link #reset} throws away
+ * what was recorded during warmup.
+ */
+final class RouteStats {
+    private final Route route;
+    private final Recorder latencies = new Recorder(3);
+    private final LongAdder errors = new LongAdder();
+
+    RouteStats(Route route) {
+        this.route = route;
+    }
+
+    Route route() {
+        return route;
+    }
+
+    void recordSuccess(long nanos) {
+        latencies.recordValue(Math.max(1, nanos / 1000));
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void reset() {
+        latencies.reset();
+        errors.reset();
+    }
+
+    Histogram histogram() {
+        return latencies.getIntervalHistogram();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+}
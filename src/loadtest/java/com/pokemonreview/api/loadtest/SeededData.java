@@ -0,0 +1,18 @@
+package com.pokemonreview.api.loadtest;
+
+/**
+ * Ids the routes pick from. Reviews are stored as parallel arrays so a million of them stay cheap.
+ */
+final class SeededData {
+    final int[] pokemonIds;
+    final int[] reviewIds;
+    final int[] reviewPokemonIds;
+    final String[] searchTerms;
+
+    SeededData(int[] pokemonIds, int[] reviewIds, int[] reviewPokemonIds, String[] searchTerms) {
+        this.pokemonIds = pokemonIds;
+        this.reviewIds = reviewIds;
+        this.reviewPokemonIds = reviewPokemonIds;
+        this.searchTerms = searchTerms;
+    }
+}
@@ -0,0 +1,20 @@
+package com.pokemonreview.api.async;
+
+/**
+ * Classes of request work that get their own threads, so slow review queries cannot starve cheap Pokemon
+ * lookups.
+ */
+public enum Workload {
+    POKEMON("pokemon"),
+    REVIEW("review");
+
+    private final String key;
+
+    Workload(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,111 @@
+package com.pokemonreview.api.async;
+
+import com.pokemonreview.api.exceptions.ServiceBusyException;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A fixed pool with a bounded queue for one {@link Workload}. A full queue or a task that does not finish
+ * within the timeout fails the returned future with a {@link ServiceBusyException}; a timed-out task that is
+ * still queued is removed, one that is running is interrupted.
+ */
+public class WorkloadExecutor {
+
+    private final Workload workload;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService timer;
+    private final long timeoutMillis;
+    private final int retryAfterSeconds;
+
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+
+    public WorkloadExecutor(Workload workload, int poolSize, int queueCapacity, long timeoutMillis,
+                            ScheduledExecutorService timer, int retryAfterSeconds) {
+        this.workload = workload;
+        this.timer = timer;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, workload.key() + "-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable work = new DelegatingSecurityContextRunnable(() -> {
+            try {
+                result.complete(task.get());
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+
+        Future<?> running;
+        try {
+            running = executor.submit(work);
+        } catch (RejectedExecutionException ex) {
+            rejectedCount.increment();
+            result.completeExceptionally(new ServiceBusyException("Too many concurrent " + workload.key() + " requests",
+                    retryAfterSeconds));
+            return result;
+        }
+
+        Future<?> timeout = timer.schedule(() -> {
+            // Counted before completing so the count is visible to whoever observes the failure.
+            timeoutCount.increment();
+            if (result.completeExceptionally(new ServiceBusyException(workload.key() + " request timed out", retryAfterSeconds))) {
+                running.cancel(true);
+                executor.remove((Runnable) running);
+            } else {
+                timeoutCount.decrement();
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        result.whenComplete((value, ex) -> timeout.cancel(false));
+        return result;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public Workload getWorkload() {
+        return workload;
+    }
+
+    public ThreadPoolExecutor getExecutor() {
+        return executor;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+}
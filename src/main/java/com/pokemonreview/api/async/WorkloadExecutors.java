@@ -0,0 +1,94 @@
+package com.pokemonreview.api.async;
+
+import com.pokemonreview.api.security.SecurityConstants;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.function.Supplier;
+
+/**
+ * Runs controller reads off the servlet threads, on one bounded {@link WorkloadExecutor} per {@link Workload}.
+ * With {@code api.async.enabled=false} the work runs on the calling thread instead. Writes do not come through
+ * here: a timed-out task may already have committed, so answering 503 for it would invite a duplicate retry.
+ */
+@Component
+public class WorkloadExecutors implements MeterBinder, DisposableBean {
+
+    private final boolean enabled;
+    private final ScheduledThreadPoolExecutor timer;
+    private final Map<Workload, WorkloadExecutor> executors = new EnumMap<>(Workload.class);
+
+    @Autowired
+    public WorkloadExecutors(@Value("${api.async.enabled:true}") boolean enabled,
+                             @Value("${api.async.pokemon.pool-size:16}") int pokemonPoolSize,
+                             @Value("${api.async.pokemon.queue-capacity:200}") int pokemonQueueCapacity,
+                             @Value("${api.async.pokemon.timeout-millis:2000}") long pokemonTimeoutMillis,
+                             @Value("${api.async.review.pool-size:8}") int reviewPoolSize,
+                             @Value("${api.async.review.queue-capacity:100}") int reviewQueueCapacity,
+                             @Value("${api.async.review.timeout-millis:5000}") long reviewTimeoutMillis) {
+        this.enabled = enabled;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "workload-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+        executors.put(Workload.POKEMON, new WorkloadExecutor(Workload.POKEMON, pokemonPoolSize, pokemonQueueCapacity,
+                pokemonTimeoutMillis, timer, SecurityConstants.BUSY_RETRY_AFTER_SECONDS));
+        executors.put(Workload.REVIEW, new WorkloadExecutor(Workload.REVIEW, reviewPoolSize, reviewQueueCapacity,
+                reviewTimeoutMillis, timer, SecurityConstants.BUSY_RETRY_AFTER_SECONDS));
+    }
+
+    public <T> CompletableFuture<T> supply(Workload workload, Supplier<T> task) {
+        if (!enabled) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (RuntimeException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+        return executors.get(workload).supply(task);
+    }
+
+    public WorkloadExecutor get(Workload workload) {
+        return executors.get(workload);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (WorkloadExecutor executor : executors.values()) {
+            String workload = executor.getWorkload().key();
+            Gauge.builder("api.workload.queue.size", executor, WorkloadExecutor::getQueueSize)
+                    .tag("workload", workload)
+                    .register(registry);
+            Gauge.builder("api.workload.active", executor, WorkloadExecutor::getActiveCount)
+                    .tag("workload", workload)
+                    .register(registry);
+            FunctionCounter.builder("api.workload.rejected", executor, WorkloadExecutor::getRejectedCount)
+                    .tag("workload", workload)
+                    .register(registry);
+            FunctionCounter.builder("api.workload.timeouts", executor, WorkloadExecutor::getTimeoutCount)
+                    .tag("workload", workload)
+                    .register(registry);
+            FunctionCounter.builder("api.workload.completed", executor, e -> e.getExecutor().getCompletedTaskCount())
+                    .tag("workload", workload)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executors.values().forEach(WorkloadExecutor::shutdown);
+        timer.shutdownNow();
+    }
+}
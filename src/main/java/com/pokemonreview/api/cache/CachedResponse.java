@@ -0,0 +1,92 @@
+package com.pokemonreview.api.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A response body exactly as it goes on the wire: UTF-8 JSON, optionally a gzip copy of it, and the ETag it
+ * was served with. The gzip copy is made on first use; {@link ResponseCache} makes it before storing an entry,
+ * so only bodies that are served without being stored, and only to clients that accept gzip, compress late.
+ * The arrays are shared between requests and must never be modified.
+ */
+public final class CachedResponse {
+
+    // Rough per-entry cost of the key, map node and this object, so many tiny entries still count.
+    static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final byte[] json;
+    private final int gzipMinBytes;
+    private final String eTag;
+    private final long expiresAtNanos;
+    private volatile long lastAccess;
+    private volatile byte[] gzip;
+    private volatile boolean compressed;
+
+    CachedResponse(byte[] json, int gzipMinBytes, String eTag, long expiresAtNanos, long lastAccess) {
+        this.json = json;
+        this.gzipMinBytes = gzipMinBytes;
+        this.eTag = eTag;
+        this.expiresAtNanos = expiresAtNanos;
+        this.lastAccess = lastAccess;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * Whether a gzip copy may exist, which is cheap to answer without compressing.
+     */
+    public boolean isCompressible() {
+        return gzipMinBytes >= 0 && json.length >= gzipMinBytes;
+    }
+
+    /**
+     * The gzip-encoded body, or null when the JSON was too small for compression to pay off. Compresses on
+     * the first call; concurrent first calls may both compress, and either result is fine.
+     */
+    public byte[] getGzip() {
+        if (!compressed) {
+            gzip = isCompressible() ? compress(json) : null;
+            compressed = true;
+        }
+        return gzip;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    int size() {
+        return ENTRY_OVERHEAD_BYTES + json.length + (gzip == null ? 0 : gzip.length);
+    }
+
+    boolean isCompressed() {
+        return compressed;
+    }
+
+    boolean isExpired(long nowNanos) {
+        return nowNanos - expiresAtNanos >= 0;
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    void touch(long tick) {
+        lastAccess = tick;
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        byte[] compressed = out.toByteArray();
+        return compressed.length < json.length ? compressed : null;
+    }
+}
@@ -0,0 +1,244 @@
+package com.pokemonreview.api.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serialized bodies of the hot read endpoints, kept as the exact bytes written to the response.
+ * <p>
+ * Entries live in groups that a write drops as a whole: one per Pokemon detail, one for every page of the
+ * Pokemon list, and one per Pokemon's review lists. The services invalidate after commit; a reader that
+ * started before an invalidation never stores its result, because {@link #put} only accepts the
+ * {@link #generation} of its group the reader saw before loading. Each group has its own generation, so a
+ * write to one Pokemon does not stop readers of another from filling the cache. Results read from a replica are served through
+ * {@link #wrap} and never stored, since the replica may not have caught up with a write that was already
+ * invalidated. Writes the services do not see are bounded by the TTL.
+ * <p>
+ * The cache is bounded by total bytes. Once over budget it evicts down to 90%, largest and longest idle
+ * entries first, and it never admits an entry over {@code api.response-cache.max-entry-bytes}.
+ */
+@Component
+public class ResponseCache implements MeterBinder {
+
+    public static final String POKEMON_PAGES = "pokemon-pages";
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final int maxEntryBytes;
+    private final int gzipMinBytes;
+    private final long ttlNanos;
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, CachedResponse>> groups = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong generations = new AtomicLong();
+    private final AtomicLong clearedAt = new AtomicLong();
+    // One entry per group ever invalidated; a long per Pokemon, kept so a generation never moves backwards.
+    private final ConcurrentHashMap<String, Long> invalidatedAt = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public ResponseCache(@Value("${api.response-cache.enabled:true}") boolean enabled,
+                         @Value("${api.response-cache.max-bytes:67108864}") long maxBytes,
+                         @Value("${api.response-cache.max-entry-bytes:1048576}") int maxEntryBytes,
+                         @Value("${api.response-cache.gzip-min-bytes:1024}") int gzipMinBytes,
+                         @Value("${api.response-cache.ttl-millis:60000}") long ttlMillis) {
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        this.gzipMinBytes = gzipMinBytes;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    public static String pokemon(int id) {
+        return "pokemon:" + id;
+    }
+
+    public static String reviews(int pokemonId) {
+        return "reviews:" + pokemonId;
+    }
+
+    /**
+     * Read before loading the data to cache in {@code group}, and hand to {@link #put}. Changes whenever the
+     * group is invalidated or the whole cache is cleared.
+     */
+    public long generation(String group) {
+        Long groupInvalidatedAt = invalidatedAt.get(group);
+        return Math.max(clearedAt.get(), groupInvalidatedAt == null ? 0 : groupInvalidatedAt);
+    }
+
+    public CachedResponse get(String group, String key) {
+        if (!enabled) {
+            return null;
+        }
+        ConcurrentHashMap<String, CachedResponse> entries = groups.get(group);
+        CachedResponse cached = entries == null ? null : entries.get(key);
+        if (cached == null || cached.isExpired(System.nanoTime())) {
+            if (cached != null) {
+                remove(entries, key, cached);
+            }
+            misses.increment();
+            return null;
+        }
+        cached.touch(clock.incrementAndGet());
+        hits.increment();
+        return cached;
+    }
+
+    /**
+     * Wraps the body for serving and stores it, unless it is too large or the data was invalidated since
+     * {@code loadedAt} was read.
+     */
+    public CachedResponse put(String group, String key, long loadedAt, byte[] json, String eTag) {
+        CachedResponse cached = wrap(json, eTag);
+        if (!enabled || cached.size() > maxEntryBytes || generation(group) != loadedAt) {
+            return cached;
+        }
+        // Compress before storing, so the size counted against the budget never changes afterwards.
+        cached.getGzip();
+        if (cached.size() > maxEntryBytes) {
+            return cached;
+        }
+        ConcurrentHashMap<String, CachedResponse> entries = groups.computeIfAbsent(group, name -> new ConcurrentHashMap<>());
+        CachedResponse previous = entries.put(key, cached);
+        totalBytes.addAndGet(cached.size() - (previous == null ? 0 : previous.size()));
+        if (generation(group) != loadedAt) {
+            // An invalidation ran concurrently and may have dropped the group before this entry landed.
+            remove(entries, key, cached);
+        } else if (totalBytes.get() > maxBytes) {
+            evict();
+        }
+        return cached;
+    }
+
+    /**
+     * Wraps the body for serving without storing it. The gzip copy is only made if something asks for it.
+     */
+    public CachedResponse wrap(byte[] json, String eTag) {
+        return new CachedResponse(json, gzipMinBytes, eTag, System.nanoTime() + ttlNanos, clock.incrementAndGet());
+    }
+
+    public void invalidatePokemon(int id) {
+        invalidateGroup(pokemon(id));
+        invalidateGroup(POKEMON_PAGES);
+    }
+
+    public void invalidatePokemonPages() {
+        invalidateGroup(POKEMON_PAGES);
+    }
+
+    public void invalidateReviews(int pokemonId) {
+        invalidateGroup(reviews(pokemonId));
+    }
+
+    public void clear() {
+        clearedAt.accumulateAndGet(generations.incrementAndGet(), Math::max);
+        groups.keySet().forEach(this::removeGroup);
+    }
+
+    public long getTotalBytes() {
+        return totalBytes.get();
+    }
+
+    public int getEntryCount() {
+        int count = 0;
+        for (Map<String, CachedResponse> entries : groups.values()) {
+            count += entries.size();
+        }
+        return count;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("api.response.cache.bytes", this, ResponseCache::getTotalBytes)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("api.response.cache.entries", this, ResponseCache::getEntryCount)
+                .register(registry);
+        FunctionCounter.builder("api.response.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("api.response.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("api.response.cache.evictions", evictions, LongAdder::sum)
+                .register(registry);
+    }
+
+    private void invalidateGroup(String group) {
+        invalidatedAt.merge(group, generations.incrementAndGet(), Math::max);
+        removeGroup(group);
+    }
+
+    private void removeGroup(String group) {
+        ConcurrentHashMap<String, CachedResponse> entries = groups.remove(group);
+        if (entries != null) {
+            entries.forEach((key, cached) -> remove(entries, key, cached));
+        }
+    }
+
+    private boolean remove(ConcurrentHashMap<String, CachedResponse> entries, String key, CachedResponse cached) {
+        if (entries.remove(key, cached)) {
+            totalBytes.addAndGet(-cached.size());
+            return true;
+        }
+        return false;
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = clock.get();
+            List<Candidate> candidates = new ArrayList<>();
+            groups.forEach((group, entries) -> entries.forEach((key, cached) ->
+                    candidates.add(new Candidate(entries, key, cached, (now - cached.getLastAccess() + 1) * cached.size()))));
+            // Idle time weighted by size: a large page nobody reads goes before a small hot detail.
+            candidates.sort(Comparator.comparingLong((Candidate candidate) -> candidate.cost).reversed());
+            long target = maxBytes / 10 * 9;
+            for (Candidate candidate : candidates) {
+                if (totalBytes.get() <= target) {
+                    break;
+                }
+                if (remove(candidate.entries, candidate.key, candidate.cached)) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static class Candidate {
+        private final ConcurrentHashMap<String, CachedResponse> entries;
+        private final String key;
+        private final CachedResponse cached;
+        private final long cost;
+
+        private Candidate(ConcurrentHashMap<String, CachedResponse> entries, String key, CachedResponse cached, long cost) {
+            this.entries = entries;
+            this.key = key;
+            this.cached = cached;
+            this.cost = cost;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.pokemonreview.api.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pokemonreview.api.cache.CachedResponse;
+import com.pokemonreview.api.cache.ResponseCache;
+import com.pokemonreview.api.datasource.ReplicaReads;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Serves {@link ResponseCache} entries as they are, so a hit costs neither a query nor a serialization.
+ */
+final class CachedResponses {
+
+    private CachedResponses() {
+    }
+
+    static <T> CachedResponse getOrLoad(ResponseCache cache, ObjectWriter writer, String group, String key,
+                                        Supplier<T> loader) {
+        CachedResponse cached = cache.get(group, key);
+        return cached != null ? cached : load(cache, writer, group, key, loader, body -> null);
+    }
+
+    static <T> CachedResponse load(ResponseCache cache, ObjectWriter writer, String group, String key,
+                                   Supplier<T> loader, Function<T, String> eTag) {
+        long loadedAt = cache.generation(group);
+        T body;
+        boolean fromReplica;
+        ReplicaReads.begin();
+        try {
+            body = loader.get();
+        } finally {
+            fromReplica = ReplicaReads.end();
+        }
+        byte[] json;
+        try {
+            json = writer.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        String bodyETag = eTag.apply(body);
+        // A lagging replica can return data older than an invalidation that already ran; only cache the primary.
+        return fromReplica ? cache.wrap(json, bodyETag) : cache.put(group, key, loadedAt, json, bodyETag);
+    }
+
+    static ResponseEntity<byte[]> toResponse(CachedResponse cached, String ifNoneMatch, String acceptEncoding) {
+        // Stored entries already carry their gzip copy; an unstored one is only compressed for a client that takes it.
+        byte[] gzip = cached.isCompressible() && acceptsGzip(acceptEncoding) ? cached.getGzip() : null;
+        String eTag = cached.getETag() != null && gzip != null ? ETags.gzip(cached.getETag()) : cached.getETag();
+        if (eTag != null && ifNoneMatch != null && ETags.matchesAny(ifNoneMatch, cached.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (eTag != null) {
+            response.eTag(eTag);
+        }
+        if (!cached.isCompressible()) {
+            return response.body(cached.getJson());
+        }
+        response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip != null) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+        }
+        return response.body(cached.getJson());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
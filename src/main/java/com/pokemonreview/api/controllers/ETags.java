@@ -0,0 +1,68 @@
+package com.pokemonreview.api.controllers;
+
+import com.pokemonreview.api.exceptions.PreconditionFailedException;
+
+/**
+ * Strong ETags derived from an entity's {@code @Version} column. A gzip-encoded body is a different
+ * representation and gets its own tag, {@code "3-gzip"}, so a cache never serves one body for the other.
+ */
+final class ETags {
+
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private ETags() {
+    }
+
+    static String of(int version) {
+        return "\"" + version + "\"";
+    }
+
+    static String gzip(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + GZIP_SUFFIX + "\"";
+    }
+
+    /**
+     * Weak comparison, as If-None-Match requires: {@code W/"3"} matches version 3, and so do {@code "3-gzip"}
+     * and {@code *}.
+     */
+    static boolean matchesAny(String ifNoneMatch, int version) {
+        return matchesAny(ifNoneMatch, of(version));
+    }
+
+    static boolean matchesAny(String ifNoneMatch, String current) {
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(current) || candidate.equals(gzip(current))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The version an If-Match header pins, or null when there is no precondition. Only a single strong tag
+     * can ever match a version, so anything else fails the precondition outright. The tag of the gzip body
+     * pins the same version.
+     */
+    static Integer expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+        String opaque = tag.substring(1, tag.length() - 1);
+        if (opaque.endsWith(GZIP_SUFFIX)) {
+            opaque = opaque.substring(0, opaque.length() - GZIP_SUFFIX.length());
+        }
+        try {
+            return Integer.valueOf(opaque);
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+    }
+}
@@ -1,52 +1,123 @@
 package com.pokemonreview.api.controllers;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokemonreview.api.async.Workload;
+import com.pokemonreview.api.async.WorkloadExecutors;
+import com.pokemonreview.api.cache.CachedResponse;
+import com.pokemonreview.api.cache.ResponseCache;
 import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.PokemonField;
+import com.pokemonreview.api.dto.PokemonQuery;
 import com.pokemonreview.api.dto.PokemonResponse;
 import com.pokemonreview.api.models.Pokemon;
 import com.pokemonreview.api.service.PokemonService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/")
 public class PokemonController {
 
     private PokemonService pokemonService;
+    private WorkloadExecutors workloadExecutors;
+    private ResponseCache responseCache;
+    private ObjectMapper objectMapper;
+    private SparseFields sparseFields;
 
     @Autowired
-    public PokemonController(PokemonService pokemonService) {
+    public PokemonController(PokemonService pokemonService, WorkloadExecutors workloadExecutors,
+                             ResponseCache responseCache, ObjectMapper objectMapper) {
         this.pokemonService = pokemonService;
+        this.workloadExecutors = workloadExecutors;
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+        this.sparseFields = new SparseFields(objectMapper, PokemonDto.class);
     }
 
     @GetMapping("pokemon")
-    public ResponseEntity<PokemonResponse> getPokemons(
+    public CompletableFuture<ResponseEntity<byte[]>> getPokemons(
             @RequestParam(value = "pageNo", defaultValue = "0", required = false) int pageNo,
-            @RequestParam(value = "pageSize", defaultValue = "10", required = false) int pageSize
+            @RequestParam(value = "pageSize", defaultValue = "10", required = false) int pageSize,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "count", defaultValue = "true", required = false) boolean count,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     ) {
-        return new ResponseEntity<>(pokemonService.getAllPokemon(pageNo, pageSize), HttpStatus.OK);
+        Set<PokemonField> selected = SparseFields.parse(PokemonField.class, fields);
+        Supplier<PokemonResponse> page;
+        if (after == null && limit == null && count && type == null && selected == null) {
+            page = () -> pokemonService.getAllPokemon(pageNo, pageSize);
+        } else {
+            PokemonQuery query = PokemonQuery.builder()
+                    .pageNo(pageNo)
+                    .pageSize(limit != null ? limit : pageSize)
+                    .withCount(count)
+                    .keyset(after != null || limit != null)
+                    .after(after)
+                    .type(type)
+                    .fields(selected)
+                    .build();
+            page = () -> pokemonService.getAllPokemon(query);
+        }
+        String key = pageNo + "|" + pageSize + "|" + after + "|" + limit + "|" + count + "|" + type + "|" + selected;
+        return workloadExecutors.supply(Workload.POKEMON, () -> CachedResponses.toResponse(
+                CachedResponses.getOrLoad(responseCache, sparseFields.writer(selected), ResponseCache.POKEMON_PAGES, key, page),
+                null, acceptEncoding));
     }
 
-    @GetMapping("pokemon/{id}")
-    public ResponseEntity<PokemonDto> pokemonDetail(@PathVariable int id) {
-        return ResponseEntity.ok(pokemonService.getPokemonById(id));
+    @GetMapping("pokemon/types")
+    public CompletableFuture<ResponseEntity<Map<String, Long>>> getPokemonTypes() {
+        return workloadExecutors.supply(Workload.POKEMON,
+                () -> new ResponseEntity<>(pokemonService.getTypeCounts(), HttpStatus.OK));
+    }
 
+    @GetMapping("pokemon/{id}")
+    public CompletableFuture<ResponseEntity<byte[]>> pokemonDetail(@PathVariable int id,
+                                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                   @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return workloadExecutors.supply(Workload.POKEMON, () -> {
+            String group = ResponseCache.pokemon(id);
+            CachedResponse cached = responseCache.get(group, "detail");
+            if (cached == null) {
+                if (ifNoneMatch != null) {
+                    Optional<Integer> version = pokemonService.getPokemonVersion(id);
+                    if (version.isPresent() && ETags.matchesAny(ifNoneMatch, version.get())) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version.get())).build();
+                    }
+                }
+                cached = CachedResponses.load(responseCache, objectMapper.writer(), group, "detail",
+                        () -> pokemonService.getPokemonById(id), pokemonDto -> ETags.of(pokemonDto.getVersion()));
+            }
+            return CachedResponses.toResponse(cached, ifNoneMatch, acceptEncoding);
+        });
     }
 
     @PostMapping("pokemon/create")
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<PokemonDto> createPokemon(@RequestBody PokemonDto pokemonDto) {
+        // Writes stay on the request thread: the workload timeout cannot stop a commit, so a 503 after it
+        // would invite a retry of a write that went through.
         return new ResponseEntity<>(pokemonService.createPokemon(pokemonDto), HttpStatus.CREATED);
     }
 
     @PutMapping("pokemon/{id}/update")
-    public ResponseEntity<PokemonDto> updatePokemon(@RequestBody PokemonDto pokemonDto, @PathVariable("id") int pokemonId) {
-        PokemonDto response = pokemonService.updatePokemon(pokemonDto, pokemonId);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public ResponseEntity<PokemonDto> updatePokemon(@RequestBody PokemonDto pokemonDto, @PathVariable("id") int pokemonId,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PokemonDto response = pokemonService.updatePokemon(pokemonDto, pokemonId, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(response.getVersion())).body(response);
     }
 
     @DeleteMapping("pokemon/{id}/delete")
@@ -0,0 +1,40 @@
+package com.pokemonreview.api.controllers;
+
+import com.pokemonreview.api.dto.PokemonRatingDto;
+import com.pokemonreview.api.service.RatingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/")
+public class RatingController {
+
+    private RatingService ratingService;
+
+    @Autowired
+    public RatingController(RatingService ratingService) {
+        this.ratingService = ratingService;
+    }
+
+    @GetMapping("pokemon/{id}/rating")
+    public ResponseEntity<PokemonRatingDto> getRating(@PathVariable("id") int pokemonId) {
+        return ResponseEntity.ok(ratingService.getRating(pokemonId));
+    }
+
+    @PostMapping("pokemon/{id}/rating/reconcile")
+    public ResponseEntity<PokemonRatingDto> reconcileRating(@PathVariable("id") int pokemonId) {
+        return ResponseEntity.ok(ratingService.reconcile(pokemonId));
+    }
+
+    @PostMapping("pokemon/ratings/reconcile")
+    public ResponseEntity<String> reconcileAllRatings() {
+        int count = ratingService.reconcileAll();
+        return new ResponseEntity<>("Reconciled ratings for " + count + " pokemon", HttpStatus.OK);
+    }
+}
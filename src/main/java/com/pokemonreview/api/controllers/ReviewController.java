@@ -1,46 +1,122 @@
 package com.pokemonreview.api.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokemonreview.api.async.Workload;
+import com.pokemonreview.api.async.WorkloadExecutors;
+import com.pokemonreview.api.cache.ResponseCache;
 import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewField;
+import com.pokemonreview.api.dto.ReviewIngestResponse;
+import com.pokemonreview.api.dto.ReviewQuery;
+import com.pokemonreview.api.dto.ReviewSearchResult;
+import com.pokemonreview.api.dto.ReviewSort;
+import com.pokemonreview.api.service.ReviewExportService;
+import com.pokemonreview.api.service.ReviewIngestService;
+import com.pokemonreview.api.service.ReviewSearchService;
 import com.pokemonreview.api.service.ReviewService;
+import com.pokemonreview.api.service.ReviewWriteBehindService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/")
 public class ReviewController {
 
     private ReviewService reviewService;
+    private ReviewExportService reviewExportService;
+    private ReviewIngestService reviewIngestService;
+    private ReviewSearchService reviewSearchService;
+    private ReviewWriteBehindService reviewWriteBehindService;
+    private WorkloadExecutors workloadExecutors;
+    private ResponseCache responseCache;
+    private SparseFields sparseFields;
 
     @Autowired
-    public ReviewController(ReviewService reviewService) {
+    public ReviewController(ReviewService reviewService, ReviewExportService reviewExportService,
+                            ReviewIngestService reviewIngestService, ReviewSearchService reviewSearchService,
+                            ReviewWriteBehindService reviewWriteBehindService, WorkloadExecutors workloadExecutors,
+                            ResponseCache responseCache, ObjectMapper objectMapper) {
         this.reviewService = reviewService;
+        this.reviewExportService = reviewExportService;
+        this.reviewIngestService = reviewIngestService;
+        this.reviewSearchService = reviewSearchService;
+        this.reviewWriteBehindService = reviewWriteBehindService;
+        this.workloadExecutors = workloadExecutors;
+        this.responseCache = responseCache;
+        this.sparseFields = new SparseFields(objectMapper, ReviewDto.class);
     }
 
     @PostMapping("/pokemon/{pokemonId}/reviews")
     public ResponseEntity<ReviewDto> createReview(@PathVariable(value = "pokemonId") int pokemonId, @RequestBody ReviewDto reviewDto) {
+        if (reviewWriteBehindService.isEnabled()) {
+            // Queued for a batched insert: 202 with the id the review will be stored under.
+            ReviewDto accepted = reviewWriteBehindService.enqueue(pokemonId, reviewDto);
+            return ResponseEntity
+                    .accepted()
+                    .location(URI.create("/api/pokemon/" + pokemonId + "/reviews/" + accepted.getId()))
+                    .body(accepted);
+        }
+        // Writes stay on the request thread: the workload timeout cannot stop a commit, so a 503 after it
+        // would invite a retry of a write that went through.
         return new ResponseEntity<>(reviewService.createReview(pokemonId, reviewDto), HttpStatus.CREATED);
     }
 
     @GetMapping("/pokemon/{pokemonId}/reviews")
-    public List<ReviewDto> getReviewsByPokemonId(@PathVariable(value = "pokemonId") int pokemonId) {
-        return reviewService.getReviewsByPokemonId(pokemonId);
+    public CompletableFuture<ResponseEntity<byte[]>> getReviewsByPokemonId(
+            @PathVariable(value = "pokemonId") int pokemonId,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "20", required = false) int limit,
+            @RequestParam(value = "sort", defaultValue = "id", required = false) ReviewSort sort,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        Set<ReviewField> selected = SparseFields.parse(ReviewField.class, fields);
+        ReviewQuery query = ReviewQuery.builder()
+                .pageSize(limit)
+                .after(after)
+                .sort(sort)
+                .fields(selected)
+                .build();
+        String key = after + "|" + limit + "|" + sort + "|" + selected;
+        return workloadExecutors.supply(Workload.REVIEW, () -> CachedResponses.toResponse(
+                CachedResponses.getOrLoad(responseCache, sparseFields.writer(selected), ResponseCache.reviews(pokemonId), key,
+                        () -> reviewService.getReviewsByPokemonId(pokemonId, query)),
+                null, acceptEncoding));
     }
 
     @GetMapping("/pokemon/{pokemonId}/reviews/{id}")
-    public ResponseEntity<ReviewDto> getReviewById(@PathVariable(value = "pokemonId") int pokemonId, @PathVariable(value = "id") int reviewId) {
-        ReviewDto reviewDto = reviewService.getReviewById(pokemonId, reviewId);
-        return new ResponseEntity<>(reviewDto, HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<ReviewDto>> getReviewById(@PathVariable(value = "pokemonId") int pokemonId, @PathVariable(value = "id") int reviewId,
+                                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return workloadExecutors.supply(Workload.REVIEW, () -> {
+            if (ifNoneMatch != null) {
+                Optional<Integer> version = reviewService.getReviewVersion(reviewId, pokemonId);
+                if (version.isPresent() && ETags.matchesAny(ifNoneMatch, version.get())) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version.get())).build();
+                }
+            }
+            ReviewDto reviewDto = reviewService.getReviewById(reviewId, pokemonId);
+            return ResponseEntity.ok().eTag(ETags.of(reviewDto.getVersion())).body(reviewDto);
+        });
     }
 
     @PutMapping("/pokemon/{pokemonId}/reviews/{id}")
     public ResponseEntity<ReviewDto> updateReview(@PathVariable(value = "pokemonId") int pokemonId, @PathVariable(value = "id") int reviewId,
-                                                  @RequestBody ReviewDto reviewDto) {
-        ReviewDto updatedReview = reviewService.updateReview(pokemonId, reviewId, reviewDto);
-        return new ResponseEntity<>(updatedReview, HttpStatus.OK);
+                                                  @RequestBody ReviewDto reviewDto,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ReviewDto updatedReview = reviewService.updateReview(pokemonId, reviewId, reviewDto, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedReview.getVersion())).body(updatedReview);
     }
 
     @DeleteMapping("/pokemon/{pokemonId}/reviews/{id}")
@@ -48,4 +124,22 @@ public class ReviewController {
         reviewService.deleteReview(pokemonId, reviewId);
         return new ResponseEntity<>("Review deleted successfully", HttpStatus.OK);
     }
+
+    @GetMapping("/reviews/export")
+    public void exportReviews(@RequestParam(value = "after", defaultValue = "0") int afterId, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        reviewExportService.exportReviews(afterId, response.getOutputStream());
+    }
+
+    @GetMapping("/reviews/search")
+    public CompletableFuture<List<ReviewSearchResult>> searchReviews(@RequestParam(value = "q") String query,
+                                                                     @RequestParam(value = "limit", defaultValue = "20", required = false) int limit) {
+        return workloadExecutors.supply(Workload.REVIEW, () -> reviewSearchService.search(query, limit));
+    }
+
+    @PostMapping(value = "/reviews/bulk", consumes = "application/json")
+    public ResponseEntity<ReviewIngestResponse> ingestReviews(HttpServletRequest request) throws IOException {
+        return new ResponseEntity<>(reviewIngestService.ingest(request.getInputStream()), HttpStatus.OK);
+    }
 }
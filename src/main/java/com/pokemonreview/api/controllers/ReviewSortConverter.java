@@ -0,0 +1,19 @@
+package com.pokemonreview.api.controllers;
+
+import com.pokemonreview.api.dto.ReviewSort;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Binds {@code sort=id|newest|stars} case-insensitively; unknown values fail binding with a 400.
+ */
+@Component
+public class ReviewSortConverter implements Converter<String, ReviewSort> {
+
+    @Override
+    public ReviewSort convert(String source) {
+        return ReviewSort.valueOf(source.trim().toUpperCase(Locale.ROOT));
+    }
+}
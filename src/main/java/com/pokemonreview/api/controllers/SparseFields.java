@@ -0,0 +1,64 @@
+package com.pokemonreview.api.controllers;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.pokemonreview.api.exceptions.InvalidFieldsException;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Binds {@code fields=id,name} to a set of field enum constants, and writes list items with only those
+ * properties. The item type is only filtered on a copy of the application's mapper, so every other response
+ * serializes it in full.
+ */
+final class SparseFields {
+
+    private static final String FILTER_ID = "sparseFields";
+
+    @JsonFilter(FILTER_ID)
+    private interface Filtered {
+    }
+
+    private final ObjectWriter allFields;
+    private final ObjectMapper filteringMapper;
+
+    SparseFields(ObjectMapper objectMapper, Class<?> itemType) {
+        this.allFields = objectMapper.writer();
+        this.filteringMapper = objectMapper.copy().addMixIn(itemType, Filtered.class);
+    }
+
+    /**
+     * The fields named in a comma separated list, case-insensitively, or null when the list is absent.
+     */
+    static <E extends Enum<E>> Set<E> parse(Class<E> type, String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<E> parsed = EnumSet.noneOf(type);
+        for (String field : fields.split(",")) {
+            try {
+                parsed.add(Enum.valueOf(type, field.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidFieldsException("Unknown field '" + field.trim() + "'");
+            }
+        }
+        return parsed;
+    }
+
+    ObjectWriter writer(Set<? extends Enum<?>> fields) {
+        if (fields == null) {
+            return allFields;
+        }
+        Set<String> properties = fields.stream()
+                .map(field -> field.name().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        return filteringMapper.writer(new SimpleFilterProvider()
+                .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(properties)));
+    }
+}
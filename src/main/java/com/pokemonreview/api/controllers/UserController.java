@@ -0,0 +1,31 @@
+package com.pokemonreview.api.controllers;
+
+import com.pokemonreview.api.dto.RegisterDto;
+import com.pokemonreview.api.dto.UserImportResponse;
+import com.pokemonreview.api.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users")
+public class UserController {
+
+    private UserService userService;
+
+    @Autowired
+    public UserController(UserService userService) {
+        this.userService = userService;
+    }
+
+    @PostMapping("import")
+    public ResponseEntity<UserImportResponse> importUsers(@RequestBody List<RegisterDto> users) {
+        return new ResponseEntity<>(userService.importUsers(users), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,31 @@
+package com.pokemonreview.api.datasource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Fails a PostgreSQL streaming replica whose last replayed transaction is older than {@code maxLagMillis}.
+ * A replica with nothing left to replay reports no lag, so an idle primary does not take its replicas out.
+ */
+public class PostgresReplicationLagCheck implements ReplicaHealthCheck {
+
+    private static final String LAG_QUERY = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0"
+            + " else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0) end";
+
+    private final long maxLagMillis;
+
+    public PostgresReplicationLagCheck(long maxLagMillis) {
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Override
+    public boolean isHealthy(String replicaName, DataSource replica) throws Exception {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            return resultSet.next() && resultSet.getDouble(1) <= maxLagMillis;
+        }
+    }
+}
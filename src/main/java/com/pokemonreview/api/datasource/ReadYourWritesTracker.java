@@ -0,0 +1,43 @@
+package com.pokemonreview.api.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which clients committed a write recently, so their reads can stay on the primary until the
+ * replicas have had {@code windowMillis} to catch up. The state is per instance.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowNanos = windowMillis * 1_000_000;
+    }
+
+    public void recordWrite(String client) {
+        if (windowNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        pinnedUntil.put(client, now + windowNanos);
+        if (pinnedUntil.size() > CLEANUP_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> until - now <= 0);
+        }
+    }
+
+    public boolean isPinned(String client) {
+        Long until = pinnedUntil.get(client);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        pinnedUntil.remove(client, until);
+        return false;
+    }
+}
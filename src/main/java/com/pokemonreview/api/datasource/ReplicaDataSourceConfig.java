@@ -0,0 +1,81 @@
+package com.pokemonreview.api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Active when {@code api.datasource.replica-urls} is set: {@code spring.datasource.*} stays the primary and
+ * read-only service calls are spread over the replicas, see {@link ReplicaRoutingDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "api.datasource", name = "replica-urls")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(DataSourceProperties properties,
+                                   @Value("${api.datasource.replica-urls}") List<String> replicaUrls,
+                                   @Value("${api.datasource.replica-username:}") String username,
+                                   @Value("${api.datasource.replica-password:}") String password,
+                                   @Value("${api.datasource.replica-pool-size:10}") int poolSize,
+                                   @Value("${api.datasource.health-check-interval-millis:5000}") long checkIntervalMillis,
+                                   ObjectProvider<ReplicaHealthCheck> healthChecks) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url.trim())
+                    .username(StringUtils.hasText(username) ? username : properties.determineUsername())
+                    .password(StringUtils.hasText(username) ? password : properties.determinePassword())
+                    .build();
+            replica.setPoolName(name);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replicas.put(name, replica);
+        }
+        return new ReplicaPool(replicas, healthChecks.orderedStream().collect(Collectors.toList()), checkIntervalMillis);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "api.datasource", name = "max-replica-lag-millis")
+    public PostgresReplicationLagCheck postgresReplicationLagCheck(@Value("${api.datasource.max-replica-lag-millis}") long maxLagMillis) {
+        return new PostgresReplicationLagCheck(maxLagMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool,
+                                 @Value("${api.datasource.read-your-writes-millis:5000}") long readYourWritesMillis,
+                                 @Value("${api.datasource.replica-read-scopes:com.pokemonreview.api.service.impl.PokemonServiceImpl,com.pokemonreview.api.service.impl.ReviewServiceImpl}")
+                                 List<String> replicaReadScopes) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicaPool,
+                new ReadYourWritesTracker(readYourWritesMillis), replicaReadScopes);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
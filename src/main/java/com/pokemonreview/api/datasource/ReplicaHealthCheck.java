@@ -0,0 +1,15 @@
+package com.pokemonreview.api.datasource;
+
+import javax.sql.DataSource;
+
+/**
+ * Decides whether a replica may serve reads. Every {@code ReplicaHealthCheck} bean is run against each replica
+ * on every refresh of the {@link ReplicaPool}; a replica is used only while all of them pass.
+ */
+public interface ReplicaHealthCheck {
+
+    /**
+     * @return {@code true} when reads may be served from the replica; throwing counts as {@code false}
+     */
+    boolean isHealthy(String replicaName, DataSource replica) throws Exception;
+}
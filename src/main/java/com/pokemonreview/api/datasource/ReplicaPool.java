@@ -0,0 +1,127 @@
+package com.pokemonreview.api.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The replicas reads may be routed to, each checked every {@code checkIntervalMillis} for a valid connection
+ * and against every {@link ReplicaHealthCheck}. {@link #next()} round-robins over the replicas that passed
+ * their last check.
+ */
+public class ReplicaPool implements MeterBinder, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaPool.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final Map<String, DataSource> replicas;
+    private final List<ReplicaHealthCheck> healthChecks;
+    private final Map<String, Boolean> healthy = new LinkedHashMap<>();
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private final ScheduledExecutorService scheduler;
+
+    private volatile List<String> available;
+
+    public ReplicaPool(Map<String, DataSource> replicas, List<ReplicaHealthCheck> healthChecks, long checkIntervalMillis) {
+        this.replicas = replicas;
+        this.healthChecks = healthChecks;
+        this.available = new ArrayList<>(replicas.keySet());
+        replicas.keySet().forEach(name -> healthy.put(name, true));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (checkIntervalMillis > 0) {
+            scheduler.scheduleWithFixedDelay(this::refresh, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * @return the name of the next healthy replica, or {@code null} when none is healthy
+     */
+    public String next() {
+        List<String> names = available;
+        if (names.isEmpty()) {
+            return null;
+        }
+        return names.get(Math.floorMod(nextIndex.getAndIncrement(), names.size()));
+    }
+
+    public synchronized void refresh() {
+        List<String> passed = new ArrayList<>(replicas.size());
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            boolean ok = check(replica.getKey(), replica.getValue());
+            if (ok != healthy.put(replica.getKey(), ok)) {
+                log.warn("Replica {} is now {}", replica.getKey(), ok ? "healthy" : "unhealthy, reads go elsewhere");
+            }
+            if (ok) {
+                passed.add(replica.getKey());
+            }
+        }
+        available = Collections.unmodifiableList(passed);
+    }
+
+    public boolean isHealthy(String name) {
+        return available.contains(name);
+    }
+
+    private boolean check(String name, DataSource replica) {
+        try {
+            try (Connection connection = replica.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    return false;
+                }
+            }
+            for (ReplicaHealthCheck healthCheck : healthChecks) {
+                if (!healthCheck.isHealthy(name, replica)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (Exception ex) {
+            log.debug("Health check of replica {} failed", name, ex);
+            return false;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String name : replicas.keySet()) {
+            Gauge.builder("api.datasource.replica.healthy", this, pool -> pool.isHealthy(name) ? 1 : 0)
+                    .tag("replica", name)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        scheduler.shutdownNow();
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof Closeable) {
+                ((Closeable) replica).close();
+            }
+        }
+    }
+}
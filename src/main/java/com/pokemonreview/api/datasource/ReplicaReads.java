@@ -0,0 +1,32 @@
+package com.pokemonreview.api.datasource;
+
+/**
+ * Tells a caller whether the reads it made on this thread between {@link #begin()} and {@link #end()} went to a
+ * replica, so results that may lag behind the primary are not kept anywhere that outlives the request.
+ */
+public final class ReplicaReads {
+
+    private static final ThreadLocal<Boolean> REPLICA_USED = new ThreadLocal<>();
+
+    private ReplicaReads() {
+    }
+
+    public static void begin() {
+        REPLICA_USED.set(Boolean.FALSE);
+    }
+
+    /**
+     * Whether a connection was routed to a replica since {@link #begin()}; stops tracking.
+     */
+    public static boolean end() {
+        Boolean used = REPLICA_USED.get();
+        REPLICA_USED.remove();
+        return Boolean.TRUE.equals(used);
+    }
+
+    static void markReplicaRead() {
+        if (REPLICA_USED.get() != null) {
+            REPLICA_USED.set(Boolean.TRUE);
+        }
+    }
+}
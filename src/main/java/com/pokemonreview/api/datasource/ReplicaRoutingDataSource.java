@@ -0,0 +1,98 @@
+package com.pokemonreview.api.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions started by one of the {@code replicaReadScopes} (transaction names are
+ * {@code <class>.<method>}) to a healthy replica and everything else to the primary. A client that committed
+ * a read-write transaction within the read-your-writes window reads from the primary too.
+ *
+ * <p>The decision needs the transaction to be set up before a connection is taken, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicaPool replicaPool;
+    private final ReadYourWritesTracker readYourWrites;
+    private final List<String> replicaReadScopes;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaPool replicaPool, ReadYourWritesTracker readYourWrites,
+                                    List<String> replicaReadScopes) {
+        this.replicaPool = replicaPool;
+        this.readYourWrites = readYourWrites;
+        this.replicaReadScopes = replicaReadScopes;
+        Map<Object, Object> targets = new HashMap<>(replicaPool.getReplicas());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String client = currentClient();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (client != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                recordWriteAfterCommit(client);
+            }
+            return PRIMARY;
+        }
+        if (!inReplicaScope(TransactionSynchronizationManager.getCurrentTransactionName())
+                || (client != null && readYourWrites.isPinned(client))) {
+            return PRIMARY;
+        }
+        String replica = replicaPool.next();
+        if (replica == null) {
+            return PRIMARY;
+        }
+        ReplicaReads.markReplicaRead();
+        return replica;
+    }
+
+    /**
+     * Pins the client once the current read-write transaction commits. Connections taken outside a transaction
+     * (version lookups, plain repository reads) are not writes and leave the client unpinned.
+     */
+    private void recordWriteAfterCommit(String client) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWrites.recordWrite(client);
+            }
+        });
+    }
+
+    private boolean inReplicaScope(String transactionName) {
+        if (transactionName == null) {
+            return false;
+        }
+        for (String scope : replicaReadScopes) {
+            if (transactionName.startsWith(scope + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -1,5 +1,6 @@
 package com.pokemonreview.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,4 +14,6 @@ public class PokemonDto {
     private int id;
     private String name;
     private String type;
+    @JsonIgnore
+    private int version;
 }
@@ -0,0 +1,10 @@
+package com.pokemonreview.api.dto;
+
+/**
+ * The {@link PokemonDto} properties a list request can ask for with {@code fields=}.
+ */
+public enum PokemonField {
+    ID,
+    NAME,
+    TYPE
+}
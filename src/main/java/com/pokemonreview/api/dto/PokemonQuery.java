@@ -0,0 +1,24 @@
+package com.pokemonreview.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PokemonQuery {
+    private int pageNo;
+    private int pageSize;
+    @Builder.Default
+    private boolean withCount = true;
+    private boolean keyset;
+    private String after;
+    private String type;
+    // Null selects every field.
+    private Set<PokemonField> fields;
+}
@@ -0,0 +1,19 @@
+package com.pokemonreview.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PokemonRatingDto {
+    private int pokemonId;
+    private long reviewCount;
+    private double averageStars;
+    private Map<Integer, Long> histogram;
+}
@@ -1,5 +1,6 @@
 package com.pokemonreview.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,4 +15,10 @@ public class ReviewDto {
     private String title;
     private String content;
     private int stars;
+    @JsonIgnore
+    private int version;
+
+    public ReviewDto(int id, String title, String content, int stars) {
+        this(id, title, content, stars, 0);
+    }
 }
@@ -0,0 +1,16 @@
+package com.pokemonreview.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewExportRow {
+    private int id;
+    private Integer pokemonId;
+    private String title;
+    private String content;
+    private int stars;
+}
@@ -0,0 +1,11 @@
+package com.pokemonreview.api.dto;
+
+/**
+ * The {@link ReviewDto} properties a list request can ask for with {@code fields=}.
+ */
+public enum ReviewField {
+    ID,
+    TITLE,
+    CONTENT,
+    STARS
+}
@@ -0,0 +1,21 @@
+package com.pokemonreview.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReviewQuery {
+    private int pageSize;
+    private String after;
+    @Builder.Default
+    private ReviewSort sort = ReviewSort.ID;
+    // Null selects every field.
+    private Set<ReviewField> fields;
+}
@@ -0,0 +1,21 @@
+package com.pokemonreview.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReviewResponse {
+    private List<ReviewDto> content;
+    private int pageSize;
+    private boolean last;
+    private String nextCursor;
+}
@@ -0,0 +1,19 @@
+package com.pokemonreview.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReviewSearchResult {
+    private int id;
+    private Integer pokemonId;
+    private String title;
+    private String content;
+    private int stars;
+    private double score;
+}
@@ -0,0 +1,7 @@
+package com.pokemonreview.api.dto;
+
+public enum ReviewSort {
+    ID,
+    NEWEST,
+    STARS
+}
@@ -0,0 +1,9 @@
+package com.pokemonreview.api.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    private static final long serialVersionUID = 4;
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.pokemonreview.api.exceptions;
+
+public class InvalidFieldsException extends RuntimeException {
+    private static final long serialVersionUID = 6;
+
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+}
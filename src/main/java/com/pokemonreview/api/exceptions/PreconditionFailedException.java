@@ -0,0 +1,9 @@
+package com.pokemonreview.api.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+    private static final long serialVersionUID = 5;
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
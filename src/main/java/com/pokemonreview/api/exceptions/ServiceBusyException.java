@@ -0,0 +1,16 @@
+package com.pokemonreview.api.exceptions;
+
+public class ServiceBusyException extends RuntimeException {
+    private static final long serialVersionUID = 3;
+
+    private final int retryAfterSeconds;
+
+    public ServiceBusyException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -14,6 +14,7 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 @Entity
+@Table(indexes = @Index(name = "idx_pokemon_type", columnList = "type, id"))
 public class Pokemon {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -21,6 +22,10 @@ public class Pokemon {
     private String name;
     private String type;
 
+    @Version
+    @Column(columnDefinition = "integer default 0 not null")
+    private int version;
+
     @OneToMany(mappedBy = "pokemon", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Review> reviews = new ArrayList<Review>();
 }
@@ -0,0 +1,46 @@
+package com.pokemonreview.api.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "pokemon_rating")
+public class PokemonRating implements Persistable<Integer> {
+    @Id
+    private int pokemonId;
+    private long reviewCount;
+    private long starSum;
+    private long oneStar;
+    private long twoStars;
+    private long threeStars;
+    private long fourStars;
+    private long fiveStars;
+
+    @Transient
+    private boolean fresh;
+
+    @Override
+    public Integer getId() {
+        return pokemonId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.fresh = false;
+    }
+}
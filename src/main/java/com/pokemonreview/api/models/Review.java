@@ -12,14 +12,23 @@ import javax.persistence.*;
 @NoArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_review_pokemon_id", columnList = "pokemon_id, id"),
+        @Index(name = "idx_review_pokemon_stars", columnList = "pokemon_id, stars, id")
+})
 public class Review {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_seq")
+    @SequenceGenerator(name = "review_seq", sequenceName = "review_seq", allocationSize = 50)
     private int id;
     private String title;
     private String content;
     private int stars;
 
+    @Version
+    @Column(columnDefinition = "integer default 0 not null")
+    private int version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "pokemon_id")
     private Pokemon pokemon;
@@ -0,0 +1,21 @@
+package com.pokemonreview.api.repository;
+
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.PokemonField;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Set;
+
+/**
+ * Pokemon list queries that select only the requested columns straight into DTOs, so a page never loads
+ * managed entities.
+ */
+public interface PokemonListRepository {
+
+    /**
+     * Pokemon with an id above {@code afterId}, optionally of one type, ordered by id. The id is always
+     * selected; the other properties only when they are in {@code fields}. The pageable's sort is ignored.
+     */
+    Slice<PokemonDto> findProjected(String type, int afterId, Set<PokemonField> fields, Pageable pageable);
+}
@@ -0,0 +1,78 @@
+package com.pokemonreview.api.repository;
+
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.PokemonField;
+import com.pokemonreview.api.models.Pokemon;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class PokemonListRepositoryImpl implements PokemonListRepository {
+
+    private EntityManager entityManager;
+
+    @Autowired
+    public PokemonListRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Slice<PokemonDto> findProjected(String type, int afterId, Set<PokemonField> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Pokemon> pokemon = query.from(Pokemon.class);
+
+        List<Selection<?>> columns = new ArrayList<>();
+        columns.add(pokemon.get("id").alias("id"));
+        if (fields.contains(PokemonField.NAME)) {
+            columns.add(pokemon.get("name").alias("name"));
+        }
+        if (fields.contains(PokemonField.TYPE)) {
+            columns.add(pokemon.get("type").alias("type"));
+        }
+
+        List<Predicate> where = new ArrayList<>();
+        if (afterId > 0) {
+            where.add(cb.greaterThan(pokemon.get("id"), afterId));
+        }
+        if (type != null) {
+            where.add(cb.equal(pokemon.get("type"), type));
+        }
+        query.multiselect(columns)
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(cb.asc(pokemon.get("id")));
+
+        // One row past the page tells whether there is a next one, without a count query.
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        int size = Math.min(rows.size(), pageable.getPageSize());
+        List<PokemonDto> content = new ArrayList<>(size);
+        for (Tuple row : rows.subList(0, size)) {
+            PokemonDto pokemonDto = new PokemonDto();
+            pokemonDto.setId(row.get("id", Integer.class));
+            if (fields.contains(PokemonField.NAME)) {
+                pokemonDto.setName(row.get("name", String.class));
+            }
+            if (fields.contains(PokemonField.TYPE)) {
+                pokemonDto.setType(row.get("type", String.class));
+            }
+            content.add(pokemonDto);
+        }
+        return new SliceImpl<>(content, pageable, rows.size() > size);
+    }
+}
@@ -0,0 +1,53 @@
+package com.pokemonreview.api.repository;
+
+import com.pokemonreview.api.models.PokemonRating;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PokemonRatingRepository extends JpaRepository<PokemonRating, Integer> {
+
+    // Summary rows for Pokemon that have none, aggregated from their reviews; Pokemon without reviews get zeros.
+    String INSERT_MISSING_RATINGS = "insert into pokemon_rating " +
+            "(pokemon_id, review_count, star_sum, one_star, two_stars, three_stars, four_stars, five_stars) " +
+            "select p.id, count(r.id), coalesce(sum(r.stars), 0), " +
+            "sum(case when r.stars = 1 then 1 else 0 end), sum(case when r.stars = 2 then 1 else 0 end), " +
+            "sum(case when r.stars = 3 then 1 else 0 end), sum(case when r.stars = 4 then 1 else 0 end), " +
+            "sum(case when r.stars = 5 then 1 else 0 end) " +
+            "from pokemon p left join review r on r.pokemon_id = p.id " +
+            "where not exists (select 1 from pokemon_rating pr where pr.pokemon_id = p.id) ";
+
+    @Modifying
+    @Query("update PokemonRating r set r.reviewCount = r.reviewCount + :reviewCount, r.starSum = r.starSum + :starSum, " +
+            "r.oneStar = r.oneStar + :oneStar, r.twoStars = r.twoStars + :twoStars, r.threeStars = r.threeStars + :threeStars, " +
+            "r.fourStars = r.fourStars + :fourStars, r.fiveStars = r.fiveStars + :fiveStars where r.pokemonId = :pokemonId")
+    int applyDelta(@Param("pokemonId") int pokemonId, @Param("reviewCount") long reviewCount, @Param("starSum") long starSum,
+                   @Param("oneStar") long oneStar, @Param("twoStars") long twoStars, @Param("threeStars") long threeStars,
+                   @Param("fourStars") long fourStars, @Param("fiveStars") long fiveStars);
+
+    @Modifying
+    @Query("delete from PokemonRating r where r.pokemonId = :pokemonId")
+    int deleteByPokemonId(@Param("pokemonId") int pokemonId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from PokemonRating r")
+    int deleteAllRatings();
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = INSERT_MISSING_RATINGS + "and p.id = :pokemonId group by p.id", nativeQuery = true)
+    int insertMissingRating(@Param("pokemonId") int pokemonId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = INSERT_MISSING_RATINGS + "group by p.id", nativeQuery = true)
+    int insertMissingRatings();
+
+    @Query("select r.pokemon.id, count(r), sum(r.stars), " +
+            "sum(case when r.stars = 1 then 1 else 0 end), sum(case when r.stars = 2 then 1 else 0 end), " +
+            "sum(case when r.stars = 3 then 1 else 0 end), sum(case when r.stars = 4 then 1 else 0 end), " +
+            "sum(case when r.stars = 5 then 1 else 0 end) " +
+            "from Review r where r.pokemon.id = :pokemonId group by r.pokemon.id")
+    List<Object[]> aggregateReviews(@Param("pokemonId") int pokemonId);
+}
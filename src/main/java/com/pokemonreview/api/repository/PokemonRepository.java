@@ -2,10 +2,31 @@ package com.pokemonreview.api.repository;
 
 import com.pokemonreview.api.models.Pokemon;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 @Repository
-public interface PokemonRepository extends JpaRepository<Pokemon, Integer> {
+public interface PokemonRepository extends JpaRepository<Pokemon, Integer>, PokemonListRepository {
     Optional<Pokemon> findByType(String type);
+
+    @Query("select p.type, count(p) from Pokemon p where p.type is not null group by p.type")
+    List<Object[]> countByType();
+
+    @Query("select p.type from Pokemon p where p.id = :id")
+    Optional<String> findTypeById(@Param("id") int id);
+
+    @Query("select p.version from Pokemon p where p.id = :id")
+    Optional<Integer> findVersionById(@Param("id") int id);
+
+    @Modifying
+    @Query("delete from Pokemon p where p.id = :id")
+    int deletePokemonById(@Param("id") int id);
+
+    @Query("select p.id from Pokemon p where p.id in :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,24 @@
+package com.pokemonreview.api.repository;
+
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewField;
+import com.pokemonreview.api.dto.ReviewSort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Set;
+
+/**
+ * Review list queries that select only the requested columns straight into DTOs, so a page never loads
+ * managed entities or a {@code content} column nobody asked for.
+ */
+public interface ReviewListRepository {
+
+    /**
+     * One keyset page of a Pokemon's reviews in {@code sort} order, starting after the row whose sort key is
+     * ({@code keyStars}, {@code keyId}); {@code keyStars} only applies to {@link ReviewSort#STARS}. The id,
+     * and the stars when sorting by them, are always selected so the caller can build the next cursor.
+     */
+    Slice<ReviewDto> findProjected(int pokemonId, ReviewSort sort, int keyStars, int keyId, Set<ReviewField> fields,
+                                   Pageable pageable);
+}
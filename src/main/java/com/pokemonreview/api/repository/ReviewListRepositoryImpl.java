@@ -0,0 +1,94 @@
+package com.pokemonreview.api.repository;
+
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewField;
+import com.pokemonreview.api.dto.ReviewSort;
+import com.pokemonreview.api.models.Review;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class ReviewListRepositoryImpl implements ReviewListRepository {
+
+    private EntityManager entityManager;
+
+    @Autowired
+    public ReviewListRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Slice<ReviewDto> findProjected(int pokemonId, ReviewSort sort, int keyStars, int keyId, Set<ReviewField> fields,
+                                          Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Review> review = query.from(Review.class);
+        Path<Integer> id = review.get("id");
+        Path<Integer> stars = review.get("stars");
+        boolean selectStars = fields.contains(ReviewField.STARS) || sort == ReviewSort.STARS;
+
+        List<Selection<?>> columns = new ArrayList<>();
+        columns.add(id.alias("id"));
+        if (fields.contains(ReviewField.TITLE)) {
+            columns.add(review.get("title").alias("title"));
+        }
+        if (fields.contains(ReviewField.CONTENT)) {
+            columns.add(review.get("content").alias("content"));
+        }
+        if (selectStars) {
+            columns.add(stars.alias("stars"));
+        }
+
+        // Same predicates and order as the (pokemon_id, id) and (pokemon_id, stars, id) indexes.
+        Predicate ofPokemon = cb.equal(review.get("pokemon").get("id"), pokemonId);
+        switch (sort) {
+            case NEWEST:
+                query.where(ofPokemon, cb.lessThan(id, keyId)).orderBy(cb.desc(id));
+                break;
+            case STARS:
+                query.where(ofPokemon, cb.or(cb.lessThan(stars, keyStars),
+                                cb.and(cb.equal(stars, keyStars), cb.lessThan(id, keyId))))
+                        .orderBy(cb.desc(stars), cb.desc(id));
+                break;
+            default:
+                query.where(ofPokemon, cb.greaterThan(id, keyId)).orderBy(cb.asc(id));
+        }
+        query.multiselect(columns);
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        int size = Math.min(rows.size(), pageable.getPageSize());
+        List<ReviewDto> content = new ArrayList<>(size);
+        for (Tuple row : rows.subList(0, size)) {
+            ReviewDto reviewDto = new ReviewDto();
+            reviewDto.setId(row.get("id", Integer.class));
+            if (fields.contains(ReviewField.TITLE)) {
+                reviewDto.setTitle(row.get("title", String.class));
+            }
+            if (fields.contains(ReviewField.CONTENT)) {
+                reviewDto.setContent(row.get("content", String.class));
+            }
+            if (selectStars) {
+                reviewDto.setStars(row.get("stars", Integer.class));
+            }
+            content.add(reviewDto);
+        }
+        return new SliceImpl<>(content, pageable, rows.size() > size);
+    }
+}
@@ -1,11 +1,83 @@
 package com.pokemonreview.api.repository;
 
+import com.pokemonreview.api.dto.ReviewExportRow;
 import com.pokemonreview.api.models.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
-public interface ReviewRepository extends JpaRepository<Review, Integer> {
+
+public interface ReviewRepository extends JpaRepository<Review, Integer>, ReviewListRepository {
     List<Review> findByPokemonId(int pokemonId);
+
+    @Query("select r from Review r where r.id = :id and r.pokemon.id = :pokemonId")
+    Optional<Review> findByIdAndPokemonId(@Param("id") int id, @Param("pokemonId") int pokemonId);
+
+    @Query("select new com.pokemonreview.api.dto.ReviewExportRow(r.id, r.pokemon.id, r.title, r.content, r.stars) " +
+            "from Review r where r.id between :fromId and :toId")
+    List<ReviewExportRow> findRowsByIdBetween(@Param("fromId") int fromId, @Param("toId") int toId);
+
+    @Query("select new com.pokemonreview.api.dto.ReviewExportRow(r.id, r.pokemon.id, r.title, r.content, r.stars) " +
+            "from Review r where r.id in :ids")
+    List<ReviewExportRow> findRowsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("select coalesce(min(r.id), 0) from Review r")
+    int findMinId();
+
+    @Query("select coalesce(max(r.id), 0) from Review r")
+    int findMaxId();
+
+    @Query("select r.version from Review r where r.id = :id and r.pokemon.id = :pokemonId")
+    Optional<Integer> findVersionByIdAndPokemonId(@Param("id") int id, @Param("pokemonId") int pokemonId);
+
+    @Query("select r.stars as stars, r.version as version from Review r where r.id = :id and r.pokemon.id = :pokemonId")
+    Optional<StarsAndVersion> findStarsAndVersionByIdAndPokemonId(@Param("id") int id, @Param("pokemonId") int pokemonId);
+
+    @Modifying
+    @Query("update Review r set r.title = :title, r.content = :content, r.stars = :stars, r.version = r.version + 1 " +
+            "where r.id = :id and r.pokemon.id = :pokemonId and r.version = :expectedVersion")
+    int updateByIdAndPokemonId(@Param("id") int id, @Param("pokemonId") int pokemonId, @Param("expectedVersion") int expectedVersion,
+                               @Param("title") String title, @Param("content") String content, @Param("stars") int stars);
+
+    @Query("select r.id from Review r where r.pokemon.id = :pokemonId and r.id > :afterId order by r.id")
+    List<Integer> findIdsByPokemonIdAfter(@Param("pokemonId") int pokemonId, @Param("afterId") int afterId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Review r where r.pokemon.id = :pokemonId and r.id <= :maxId")
+    int deleteByPokemonIdUpTo(@Param("pokemonId") int pokemonId, @Param("maxId") int maxId);
+
+    @Modifying
+    @Query("delete from Review r where r.pokemon.id = :pokemonId")
+    int deleteAllByPokemonId(@Param("pokemonId") int pokemonId);
+
+    @Modifying
+    @Query("delete from Review r where r.id = :id and r.pokemon.id = :pokemonId and r.version = :expectedVersion")
+    int deleteByIdAndPokemonId(@Param("id") int id, @Param("pokemonId") int pokemonId, @Param("expectedVersion") int expectedVersion);
+
+    interface StarsAndVersion {
+        int getStars();
+        int getVersion();
+    }
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select new com.pokemonreview.api.dto.ReviewExportRow(r.id, r.pokemon.id, r.title, r.content, r.stars) " +
+            "from Review r where r.id > :afterId order by r.id")
+    Stream<ReviewExportRow> streamForExport(@Param("afterId") int afterId);
 }
@@ -0,0 +1,295 @@
+package com.pokemonreview.api.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory positional inverted index ranked with BM25. Each document belongs to a group (the Pokemon of a review)
+ * so whole groups can be dropped at once. Searches share a read lock; mutations take the write lock, so callers
+ * should {@link #analyze analyze} text before calling {@link #add}.
+ *
+ * <p>Queries are whitespace-separated terms plus double-quoted phrases. A document matches if it matches any
+ * term or phrase; its score is the sum of the BM25 scores of everything it matched.
+ */
+public class InvertedIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Integer, DocInfo> docs = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    /**
+     * Tokenizes the fields of one document. Fields are separated by a position gap, so phrases never span two
+     * fields.
+     */
+    public static Document analyze(int docId, int groupId, String... fields) {
+        Map<String, List<Integer>> termPositions = new LinkedHashMap<>();
+        int position = 0;
+        for (String field : fields) {
+            for (String token : tokenize(field)) {
+                termPositions.computeIfAbsent(token, term -> new ArrayList<>()).add(position++);
+            }
+            position++;
+        }
+
+        Map<String, int[]> terms = new HashMap<>(termPositions.size() * 2);
+        int length = 0;
+        for (Map.Entry<String, List<Integer>> entry : termPositions.entrySet()) {
+            int[] positions = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            terms.put(entry.getKey(), positions);
+            length += positions.length;
+        }
+        return new Document(docId, groupId, length, terms);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                token.appendCodePoint(codePoint);
+            } else if (token.length() > 0) {
+                tokens.add(token.toString().toLowerCase(Locale.ROOT));
+                token.setLength(0);
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString().toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+
+    public void add(Document document) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.docId);
+            for (Map.Entry<String, int[]> entry : document.terms.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).add(document.docId, entry.getValue());
+            }
+            docs.put(document.docId, new DocInfo(document.groupId, document.length,
+                    document.terms.keySet().toArray(new String[0])));
+            totalLength += document.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int docId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeGroup(int groupId) {
+        lock.writeLock().lock();
+        try {
+            List<Integer> docIds = new ArrayList<>();
+            docs.forEach((docId, info) -> {
+                if (info.groupId == groupId) {
+                    docIds.add(docId);
+                }
+            });
+            docIds.forEach(this::removeLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(int docId) {
+        DocInfo info = docs.remove(docId);
+        if (info == null) {
+            return;
+        }
+        for (String term : info.terms) {
+            PostingList postingList = postings.get(term);
+            postingList.remove(docId);
+            if (postingList.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= info.length;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ScoredDoc> search(String query, int limit) {
+        List<List<String>> clauses = parse(query);
+        if (clauses.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (docs.isEmpty()) {
+                return Collections.emptyList();
+            }
+            double averageLength = (double) totalLength / docs.size();
+            Map<Integer, Double> scores = new HashMap<>();
+            for (List<String> clause : clauses) {
+                if (clause.size() == 1) {
+                    scoreTerm(clause.get(0), averageLength, scores);
+                } else {
+                    scorePhrase(clause, averageLength, scores);
+                }
+            }
+            return topK(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void scoreTerm(String term, double averageLength, Map<Integer, Double> scores) {
+        PostingList postingList = postings.get(term);
+        if (postingList == null) {
+            return;
+        }
+        double idf = idf(postingList.size());
+        for (int i = 0; i < postingList.size(); i++) {
+            int docId = postingList.docId(i);
+            scores.merge(docId, bm25(idf, postingList.positions(i).length, docs.get(docId).length, averageLength), Double::sum);
+        }
+    }
+
+    private void scorePhrase(List<String> phrase, double averageLength, Map<Integer, Double> scores) {
+        PostingList[] lists = new PostingList[phrase.size()];
+        for (int k = 0; k < lists.length; k++) {
+            lists[k] = postings.get(phrase.get(k));
+            if (lists[k] == null) {
+                return;
+            }
+        }
+
+        List<int[]> matches = new ArrayList<>();
+        PostingList first = lists[0];
+        for (int i = 0; i < first.size(); i++) {
+            int docId = first.docId(i);
+            int[][] positions = new int[lists.length][];
+            positions[0] = first.positions(i);
+            boolean containsAll = true;
+            for (int k = 1; k < lists.length && containsAll; k++) {
+                int index = lists[k].indexOf(docId);
+                containsAll = index >= 0;
+                if (containsAll) {
+                    positions[k] = lists[k].positions(index);
+                }
+            }
+            if (!containsAll) {
+                continue;
+            }
+            int frequency = 0;
+            for (int start : positions[0]) {
+                boolean adjacent = true;
+                for (int k = 1; k < positions.length && adjacent; k++) {
+                    adjacent = Arrays.binarySearch(positions[k], start + k) >= 0;
+                }
+                if (adjacent) {
+                    frequency++;
+                }
+            }
+            if (frequency > 0) {
+                matches.add(new int[]{docId, frequency});
+            }
+        }
+
+        double idf = idf(matches.size());
+        for (int[] match : matches) {
+            scores.merge(match[0], bm25(idf, match[1], docs.get(match[0]).length, averageLength), Double::sum);
+        }
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1 + (docs.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static double bm25(double idf, int frequency, int length, double averageLength) {
+        return idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+    }
+
+    private static List<ScoredDoc> topK(Map<Integer, Double> scores, int limit) {
+        Comparator<ScoredDoc> ranking = Comparator.comparingDouble(ScoredDoc::getScore)
+                .thenComparing(Comparator.comparingInt(ScoredDoc::getDocId).reversed());
+        PriorityQueue<ScoredDoc> top = new PriorityQueue<>(ranking);
+        scores.forEach((docId, score) -> {
+            top.add(new ScoredDoc(docId, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        });
+        List<ScoredDoc> hits = new ArrayList<>(top);
+        hits.sort(ranking.reversed());
+        return hits;
+    }
+
+    static List<List<String>> parse(String query) {
+        List<List<String>> clauses = new ArrayList<>();
+        if (query == null) {
+            return clauses;
+        }
+        String[] parts = query.split("\"", -1);
+        for (int i = 0; i < parts.length; i++) {
+            List<String> tokens = tokenize(parts[i]);
+            if (i % 2 == 1 && tokens.size() > 1) {
+                clauses.add(tokens);
+            } else {
+                tokens.forEach(token -> clauses.add(Collections.singletonList(token)));
+            }
+        }
+        return clauses;
+    }
+
+    public static final class Document {
+        private final int docId;
+        private final int groupId;
+        private final int length;
+        private final Map<String, int[]> terms;
+
+        private Document(int docId, int groupId, int length, Map<String, int[]> terms) {
+            this.docId = docId;
+            this.groupId = groupId;
+            this.length = length;
+            this.terms = terms;
+        }
+
+        public int getDocId() {
+            return docId;
+        }
+    }
+
+    private static final class DocInfo {
+        private final int groupId;
+        private final int length;
+        private final String[] terms;
+
+        private DocInfo(int groupId, int length, String[] terms) {
+            this.groupId = groupId;
+            this.length = length;
+            this.terms = terms;
+        }
+    }
+}
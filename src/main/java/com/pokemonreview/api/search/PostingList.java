@@ -0,0 +1,61 @@
+package com.pokemonreview.api.search;
+
+import java.util.Arrays;
+
+/**
+ * Documents containing one term, kept sorted by document id, each with the sorted positions of the term.
+ */
+final class PostingList {
+    private int[] docIds = new int[4];
+    private int[][] positions = new int[4][];
+    private int size;
+
+    void add(int docId, int[] termPositions) {
+        int index = Arrays.binarySearch(docIds, 0, size, docId);
+        if (index >= 0) {
+            positions[index] = termPositions;
+            return;
+        }
+        index = -index - 1;
+        if (size == docIds.length) {
+            docIds = Arrays.copyOf(docIds, size * 2);
+            positions = Arrays.copyOf(positions, size * 2);
+        }
+        System.arraycopy(docIds, index, docIds, index + 1, size - index);
+        System.arraycopy(positions, index, positions, index + 1, size - index);
+        docIds[index] = docId;
+        positions[index] = termPositions;
+        size++;
+    }
+
+    void remove(int docId) {
+        int index = Arrays.binarySearch(docIds, 0, size, docId);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(docIds, index + 1, docIds, index, size - index - 1);
+        System.arraycopy(positions, index + 1, positions, index, size - index - 1);
+        size--;
+        positions[size] = null;
+    }
+
+    int indexOf(int docId) {
+        return Arrays.binarySearch(docIds, 0, size, docId);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int docId(int index) {
+        return docIds[index];
+    }
+
+    int[] positions(int index) {
+        return positions[index];
+    }
+}
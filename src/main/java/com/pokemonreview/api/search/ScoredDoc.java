@@ -0,0 +1,19 @@
+package com.pokemonreview.api.search;
+
+public final class ScoredDoc {
+    private final int docId;
+    private final double score;
+
+    public ScoredDoc(int docId, double score) {
+        this.docId = docId;
+        this.score = score;
+    }
+
+    public int getDocId() {
+        return docId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,55 @@
+package com.pokemonreview.api.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the highest BCrypt strength whose single hash still fits in a latency budget on this host.
+ */
+public final class BCryptStrengthCalibrator {
+
+    public static final int MIN_STRENGTH = 4;
+    public static final int MAX_STRENGTH = 16;
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptStrengthCalibrator.class);
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(long targetMillis) {
+        return calibrate(targetMillis, MIN_STRENGTH, MAX_STRENGTH);
+    }
+
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long millis = measureMillis(strength);
+            log.info("BCrypt strength {} takes {} ms per hash", strength, millis);
+            if (millis > targetMillis) {
+                break;
+            }
+            chosen = strength;
+            // Every step doubles the work, so stop before measuring a strength that would clearly overshoot.
+            if (millis * 2 > targetMillis) {
+                break;
+            }
+        }
+        log.info("Calibrated BCrypt strength {} for a {} ms target", chosen, targetMillis);
+        return chosen;
+    }
+
+    static long measureMillis(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(SAMPLE_PASSWORD);
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000;
+    }
+}
@@ -0,0 +1,33 @@
+package com.pokemonreview.api.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Interns {@link SimpleGrantedAuthority} instances so every request for the same role shares one object.
+ */
+public final class GrantedAuthorities {
+
+    private static final ConcurrentMap<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private GrantedAuthorities() {
+    }
+
+    public static GrantedAuthority of(String role) {
+        return AUTHORITIES.computeIfAbsent(role, SimpleGrantedAuthority::new);
+    }
+
+    public static List<GrantedAuthority> of(Collection<String> roles) {
+        List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+        for (String role : roles) {
+            authorities.add(of(role));
+        }
+        return authorities;
+    }
+}
@@ -1,8 +1,16 @@
 package com.pokemonreview.api.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
@@ -13,13 +21,28 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Collection;
 
+/**
+ * Authenticates Bearer tokens and applies the rate limits. Requests with a valid token are limited per token
+ * subject; everything else, including HTTP Basic and invalid tokens, is limited per client IP, so a client
+ * cannot skip the limit by leaving the token out.
+ */
 public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
+    // Keeps IP buckets apart from subject buckets in the same group, should a username look like an address.
+    private static final String ADDRESS_KEY_PREFIX = "ip:";
+
     @Autowired
     private JWTGenerator tokenGenerator;
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private RateLimiter rateLimiter;
+    @Value("${security.jwt.stateless-authorities:false}")
+    private boolean statelessAuthorities;
 
 
     @Override
@@ -27,10 +50,29 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         String token = getJWTFromRequest(request);
-        if(StringUtils.hasText(token) && tokenGenerator.validateToken(token)) {
-            String username = tokenGenerator.getUsernameFromJWT(token);
-
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+        RateLimitGroup group = RateLimitGroup.forPath(request.getRequestURI().substring(request.getContextPath().length()));
+        if (group == RateLimitGroup.AUTH && !rateLimit(group, request.getRemoteAddr(), response)) {
+            return;
+        }
+        Claims claims = null;
+        if(StringUtils.hasText(token)) {
+            try {
+                claims = verify(token);
+            } catch (AuthenticationException ex) {
+                if (group != RateLimitGroup.AUTH && !rateLimit(group, ADDRESS_KEY_PREFIX + request.getRemoteAddr(), response)) {
+                    return;
+                }
+                throw ex;
+            }
+        }
+        if (group != RateLimitGroup.AUTH) {
+            String subject = claims != null ? claims.getSubject() : ADDRESS_KEY_PREFIX + request.getRemoteAddr();
+            if (!rateLimit(group, subject, response)) {
+                return;
+            }
+        }
+        if (claims != null) {
+            UserDetails userDetails = loadUserDetails(claims);
             UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null,
                     userDetails.getAuthorities());
             authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -39,6 +81,57 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private Claims verify(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            Claims claims = tokenGenerator.getClaimsFromJWT(token);
+            outcome = "success";
+            return claims;
+        } finally {
+            sample.stop(meterRegistry.timer("security.jwt.verification", "outcome", outcome));
+        }
+    }
+
+    private boolean rateLimit(RateLimitGroup group, String subject, HttpServletResponse response) throws IOException {
+        if (!rateLimiter.isEnabled()) {
+            return true;
+        }
+        RateLimitDecision decision = rateLimiter.tryAcquire(group, subject);
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.getLimit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.getRemaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(decision.getResetSeconds()));
+        if (decision.isAllowed()) {
+            return true;
+        }
+        meterRegistry.counter("security.rate.limit.rejected", "group", group.key()).increment();
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.getRetryAfterSeconds()));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests");
+        return false;
+    }
+
+    private UserDetails loadUserDetails(Claims claims) {
+        Object roles = claims.get(SecurityConstants.JWT_ROLES_CLAIM);
+        boolean fromClaims = statelessAuthorities && roles instanceof Collection;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            UserDetails userDetails;
+            if (fromClaims) {
+                @SuppressWarnings("unchecked")
+                Collection<String> roleNames = (Collection<String>) roles;
+                userDetails = new User(claims.getSubject(), "", GrantedAuthorities.of(roleNames));
+            } else {
+                userDetails = customUserDetailsService.loadUserByUsername(claims.getSubject());
+            }
+            outcome = "success";
+            return userDetails;
+        } finally {
+            sample.stop(meterRegistry.timer("security.jwt.user.lookup",
+                    "source", fromClaims ? "claims" : "database", "outcome", outcome));
+        }
+    }
+
     private String getJWTFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if(StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
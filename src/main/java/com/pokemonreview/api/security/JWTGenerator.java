@@ -1,7 +1,11 @@
 package com.pokemonreview.api.security;
 
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.security.Key;
@@ -9,49 +13,95 @@ import java.security.Key;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.SignatureAlgorithm;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JWTGenerator {
 	//private static final KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
-	private static final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS512);
-	
+	private static final Logger log = LoggerFactory.getLogger(JWTGenerator.class);
+	private static final Key RANDOM_KEY = Keys.secretKeyFor(SignatureAlgorithm.HS512);
+	private static final int MIN_SECRET_BYTES = 64;
+
+	private final Key key;
+	private final JwtParser parser;
+	private final JWTClaimsCache claimsCache;
+
+	public JWTGenerator(JWTClaimsCache claimsCache) {
+		this(claimsCache, "");
+	}
+
+	/**
+	 * @param secret base64 encoded HS512 key of at least 64 bytes, shared by every node that issues or verifies
+	 *               tokens; when blank a per-process random key is used and tokens do not survive a restart
+	 */
+	@Autowired
+	public JWTGenerator(JWTClaimsCache claimsCache, @Value("${security.jwt.secret:}") String secret) {
+		this.claimsCache = claimsCache;
+		this.key = signingKey(secret);
+		this.parser = Jwts.parserBuilder()
+				.setSigningKey(key)
+				.build();
+	}
+
+	private static Key signingKey(String secret) {
+		if (secret == null || secret.isBlank()) {
+			log.warn("security.jwt.secret is not set, signing tokens with a random key valid for this process only");
+			return RANDOM_KEY;
+		}
+		byte[] bytes = Base64.getDecoder().decode(secret.trim());
+		if (bytes.length < MIN_SECRET_BYTES) {
+			throw new IllegalStateException("security.jwt.secret must decode to at least " + MIN_SECRET_BYTES + " bytes for HS512");
+		}
+		return Keys.hmacShaKeyFor(bytes);
+	}
+
 	public String generateToken(Authentication authentication) {
 		String username = authentication.getName();
+		List<String> roles = authentication.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.collect(Collectors.toList());
 		Date currentDate = new Date();
 		Date expireDate = new Date(currentDate.getTime() + SecurityConstants.JWT_EXPIRATION);
 		
 		String token = Jwts.builder()
 				.setSubject(username)
+				.claim(SecurityConstants.JWT_ROLES_CLAIM, roles)
 				.setIssuedAt( new Date())
 				.setExpiration(expireDate)
 				.signWith(key,SignatureAlgorithm.HS512)
 				.compact();
-		System.out.println("New token :");
-		System.out.println(token);
 		return token;
 	}
-	public String getUsernameFromJWT(String token){
-		Claims claims = Jwts.parserBuilder()
-				.setSigningKey(key)
-				.build()
-				.parseClaimsJws(token)
-				.getBody();
-		return claims.getSubject();
-	}
-	
-	public boolean validateToken(String token) {
+
+	public Claims getClaimsFromJWT(String token) {
+		String cacheKey = claimsCache.keyFor(token);
+		Claims claims = claimsCache.get(cacheKey);
+		if (claims != null) {
+			return claims;
+		}
 		try {
-			Jwts.parserBuilder()
-			.setSigningKey(key)
-			.build()
-			.parseClaimsJws(token);
-			return true;
+			claims = parser.parseClaimsJws(token).getBody();
 		} catch (Exception ex) {
 			throw new AuthenticationCredentialsNotFoundException("JWT was exprired or incorrect",ex.fillInStackTrace());
 		}
+		claimsCache.put(cacheKey, claims);
+		return claims;
+	}
+
+	public String getUsernameFromJWT(String token){
+		return getClaimsFromJWT(token).getSubject();
+	}
+
+	public boolean validateToken(String token) {
+		getClaimsFromJWT(token);
+		return true;
 	}
 
 }
@@ -0,0 +1,16 @@
+package com.pokemonreview.api.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RateLimitDecision {
+    private final boolean allowed;
+    private final long limit;
+    private final long remaining;
+    // seconds until the bucket is full again
+    private final long resetSeconds;
+    // seconds until the next request would be allowed, 0 when allowed
+    private final long retryAfterSeconds;
+}
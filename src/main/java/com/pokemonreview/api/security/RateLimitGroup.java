@@ -0,0 +1,41 @@
+package com.pokemonreview.api.security;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Routes that share a rate limit. Login and registration are limited per client IP, everything else per token
+ * subject, or per client IP when the request carries no valid token.
+ */
+public enum RateLimitGroup {
+    AUTH("auth", "/api/auth/**"),
+    REVIEWS("reviews", "/api/pokemon/*/reviews", "/api/pokemon/*/reviews/**", "/api/reviews/**"),
+    DEFAULT("default");
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final String key;
+    private final List<String> patterns;
+
+    RateLimitGroup(String key, String... patterns) {
+        this.key = key;
+        this.patterns = Arrays.asList(patterns);
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static RateLimitGroup forPath(String path) {
+        for (RateLimitGroup group : values()) {
+            for (String pattern : group.patterns) {
+                if (PATH_MATCHER.match(pattern, path)) {
+                    return group;
+                }
+            }
+        }
+        return DEFAULT;
+    }
+}
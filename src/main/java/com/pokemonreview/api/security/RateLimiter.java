@@ -0,0 +1,102 @@
+package com.pokemonreview.api.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link TokenBucket} per route group and subject. Buckets are only kept while they matter: once more than
+ * {@code maxBuckets} exist, buckets that have refilled completely are dropped, and if that is not enough the
+ * map is cut back to 90% regardless, which at worst hands a subject a fresh bucket early.
+ */
+@Component
+public class RateLimiter {
+
+    private final boolean enabled;
+    private final int maxBuckets;
+    private final Map<RateLimitGroup, Limit> limits = new EnumMap<>(RateLimitGroup.class);
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final long epochNanos = System.nanoTime();
+
+    @Autowired
+    public RateLimiter(@Value("${security.rate-limit.enabled:true}") boolean enabled,
+                       @Value("${security.rate-limit.max-buckets:100000}") int maxBuckets,
+                       @Value("${security.rate-limit.auth.capacity:10}") long authCapacity,
+                       @Value("${security.rate-limit.auth.refill-per-second:0.2}") double authRefillPerSecond,
+                       @Value("${security.rate-limit.reviews.capacity:60}") long reviewsCapacity,
+                       @Value("${security.rate-limit.reviews.refill-per-second:20}") double reviewsRefillPerSecond,
+                       @Value("${security.rate-limit.default.capacity:120}") long defaultCapacity,
+                       @Value("${security.rate-limit.default.refill-per-second:50}") double defaultRefillPerSecond) {
+        this.enabled = enabled;
+        this.maxBuckets = Math.max(1, maxBuckets);
+        limits.put(RateLimitGroup.AUTH, new Limit(authCapacity, authRefillPerSecond));
+        limits.put(RateLimitGroup.REVIEWS, new Limit(reviewsCapacity, reviewsRefillPerSecond));
+        limits.put(RateLimitGroup.DEFAULT, new Limit(defaultCapacity, defaultRefillPerSecond));
+        // Fail at startup rather than on the first request.
+        limits.values().forEach(limit -> new TokenBucket(limit.capacity, limit.refillPerSecond, 0));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public RateLimitDecision tryAcquire(RateLimitGroup group, String subject) {
+        long now = nowMillis();
+        String key = group.key() + ':' + subject;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                evict(now);
+            }
+            Limit limit = limits.get(group);
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(limit.capacity, limit.refillPerSecond, now));
+        }
+
+        long left = bucket.tryConsume(now);
+        if (left < 0) {
+            long retryAfter = toSeconds(bucket.millisToRefill(-left));
+            return new RateLimitDecision(false, bucket.getCapacity(), 0,
+                    toSeconds(bucket.millisToRefill(bucket.getCapacityMilliTokens() - left - TokenBucket.MILLI_TOKENS)),
+                    Math.max(1, retryAfter));
+        }
+        return new RateLimitDecision(true, bucket.getCapacity(), left / TokenBucket.MILLI_TOKENS,
+                toSeconds(bucket.millisToRefill(bucket.getCapacityMilliTokens() - left)), 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void evict(long now) {
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        int target = maxBuckets - maxBuckets / 10 - 1;
+        Iterator<String> keys = buckets.keySet().iterator();
+        while (buckets.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private long nowMillis() {
+        return (System.nanoTime() - epochNanos) / 1_000_000;
+    }
+
+    private static long toSeconds(long millis) {
+        return (millis + 999) / 1000;
+    }
+
+    private static class Limit {
+        private final long capacity;
+        private final double refillPerSecond;
+
+        private Limit(long capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.pokemonreview.api.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,7 +16,6 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -42,6 +44,10 @@ public class SecurityConfig {
                 .and()
                 .authorizeRequests()
                 .antMatchers("/api/auth/**").permitAll()
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).hasAuthority("ADMIN")
+                .antMatchers("/api/users/**", "/api/reviews/export", "/api/reviews/bulk").hasAuthority("ADMIN")
+                .antMatchers(HttpMethod.POST, "/api/pokemon/*/rating/reconcile", "/api/pokemon/ratings/reconcile").hasAuthority("ADMIN")
                 .anyRequest().authenticated()
                 .and()
                 .httpBasic();
@@ -56,8 +62,15 @@ public class SecurityConfig {
     }
 
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    BoundedPasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength,
+                                           @Value("${security.bcrypt.target-millis:0}") long targetMillis,
+                                           @Value("${security.bcrypt.pool-size:0}") int poolSize,
+                                           @Value("${security.bcrypt.queue-capacity:64}") int queueCapacity,
+                                           @Value("${security.bcrypt.timeout-millis:5000}") long timeoutMillis) {
+        int bcryptStrength = targetMillis > 0 ? BCryptStrengthCalibrator.calibrate(targetMillis) : strength;
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), threads, queueCapacity,
+                timeoutMillis, SecurityConstants.BUSY_RETRY_AFTER_SECONDS);
     }
 
     @Bean
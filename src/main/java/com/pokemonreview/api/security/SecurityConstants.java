@@ -2,4 +2,6 @@ package com.pokemonreview.api.security;
 
 public class SecurityConstants {
     public static final long JWT_EXPIRATION = 70000;
+    public static final String JWT_ROLES_CLAIM = "roles";
+    public static final int BUSY_RETRY_AFTER_SECONDS = 1;
 }
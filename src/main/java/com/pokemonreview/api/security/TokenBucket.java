@@ -0,0 +1,87 @@
+package com.pokemonreview.api.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket whose whole state, the tokens in thousandths and the time of the last refill, is packed into one
+ * long and replaced with compare-and-set, so concurrent requests for the same subject never block each other.
+ * Times are milliseconds on the owner's clock and must stay below 2^38 (about 8.7 years).
+ */
+public final class TokenBucket {
+
+    static final long MILLI_TOKENS = 1000;
+    private static final int TOKEN_BITS = 26;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    public static final long MAX_CAPACITY = TOKEN_MASK / MILLI_TOKENS;
+
+    private final AtomicLong state;
+    private final long capacity;
+    // tokens per second is the same number as thousandths of a token per millisecond
+    private final double refillPerMilli;
+
+    public TokenBucket(long capacity, double refillPerSecond, long nowMillis) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        if (refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Refill rate must be positive");
+        }
+        this.capacity = capacity * MILLI_TOKENS;
+        this.refillPerMilli = refillPerSecond;
+        this.state = new AtomicLong(pack(nowMillis, this.capacity));
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return the thousandths of a token left after taking one, or, when there was not a whole token, the negated
+     * number of thousandths still missing
+     */
+    public long tryConsume(long nowMillis) {
+        while (true) {
+            long current = state.get();
+            long last = current >>> TOKEN_BITS;
+            long available = available(current, nowMillis);
+            if (available < MILLI_TOKENS) {
+                return available - MILLI_TOKENS;
+            }
+            // Keep the old timestamp while less than a thousandth has accrued, so slow refill rates are not lost.
+            long stamp = available == (current & TOKEN_MASK) && available < capacity ? last : Math.max(last, nowMillis);
+            if (state.compareAndSet(current, pack(stamp, available - MILLI_TOKENS))) {
+                return available - MILLI_TOKENS;
+            }
+        }
+    }
+
+    /**
+     * @return whether the bucket has refilled completely, in which case dropping it changes nothing
+     */
+    public boolean isFull(long nowMillis) {
+        return available(state.get(), nowMillis) >= capacity;
+    }
+
+    /**
+     * @return milliseconds until {@code milliTokens} thousandths of a token have accrued
+     */
+    public long millisToRefill(long milliTokens) {
+        return milliTokens <= 0 ? 0 : (long) Math.ceil(milliTokens / refillPerMilli);
+    }
+
+    public long getCapacity() {
+        return capacity / MILLI_TOKENS;
+    }
+
+    long getCapacityMilliTokens() {
+        return capacity;
+    }
+
+    private long available(long packed, long nowMillis) {
+        long elapsed = Math.max(0, nowMillis - (packed >>> TOKEN_BITS));
+        long tokens = packed & TOKEN_MASK;
+        return (long) Math.min(capacity, tokens + Math.floor(elapsed * refillPerMilli));
+    }
+
+    private static long pack(long millis, long milliTokens) {
+        return (millis << TOKEN_BITS) | milliTokens;
+    }
+}
@@ -1,14 +1,21 @@
 package com.pokemonreview.api.service;
 
 import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.PokemonQuery;
 import com.pokemonreview.api.dto.PokemonResponse;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface PokemonService {
     PokemonDto createPokemon(PokemonDto pokemonDto);
     PokemonResponse getAllPokemon(int pageNo, int pageSize);
+    PokemonResponse getAllPokemon(PokemonQuery query);
     PokemonDto getPokemonById(int id);
+    Optional<Integer> getPokemonVersion(int id);
     PokemonDto updatePokemon(PokemonDto pokemonDto, int id);
+    PokemonDto updatePokemon(PokemonDto pokemonDto, int id, Integer expectedVersion);
     void deletePokemonId(int id);
+    Map<String, Long> getTypeCounts();
 }
@@ -0,0 +1,64 @@
+package com.pokemonreview.api.service;
+
+/**
+ * Change to apply to a Pokemon's rating summary. Stars outside 1-5 still count towards the
+ * review count and star sum, but not towards the histogram.
+ */
+public class RatingDelta {
+    private long reviewCount;
+    private long starSum;
+    private final long[] histogram = new long[5];
+
+    public static RatingDelta added(int stars) {
+        return new RatingDelta().add(stars);
+    }
+
+    public static RatingDelta removed(int stars) {
+        return new RatingDelta().remove(stars);
+    }
+
+    public static RatingDelta changed(int oldStars, int newStars) {
+        return new RatingDelta().remove(oldStars).add(newStars);
+    }
+
+    public RatingDelta add(int stars) {
+        return apply(stars, 1);
+    }
+
+    public RatingDelta remove(int stars) {
+        return apply(stars, -1);
+    }
+
+    private RatingDelta apply(int stars, int sign) {
+        reviewCount += sign;
+        starSum += (long) sign * stars;
+        if (stars >= 1 && stars <= 5) {
+            histogram[stars - 1] += sign;
+        }
+        return this;
+    }
+
+    public boolean isEmpty() {
+        if (reviewCount != 0 || starSum != 0) {
+            return false;
+        }
+        for (long count : histogram) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public long getStarSum() {
+        return starSum;
+    }
+
+    public long getStarCount(int stars) {
+        return histogram[stars - 1];
+    }
+}
@@ -0,0 +1,12 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.PokemonRatingDto;
+
+public interface RatingService {
+    PokemonRatingDto getRating(int pokemonId);
+    void createRating(int pokemonId);
+    void applyDelta(int pokemonId, RatingDelta delta);
+    PokemonRatingDto reconcile(int pokemonId);
+    int reconcileAll();
+    void deleteRating(int pokemonId);
+}
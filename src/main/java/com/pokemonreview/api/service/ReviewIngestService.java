@@ -0,0 +1,10 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.ReviewIngestResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ReviewIngestService {
+    ReviewIngestResponse ingest(InputStream json) throws IOException;
+}
@@ -0,0 +1,13 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.ReviewSearchResult;
+
+import java.util.List;
+
+public interface ReviewSearchService {
+    List<ReviewSearchResult> search(String query, int limit);
+    void indexReview(int reviewId, int pokemonId, String title, String content);
+    void removeReview(int reviewId);
+    void removePokemon(int pokemonId);
+    int rebuild();
+}
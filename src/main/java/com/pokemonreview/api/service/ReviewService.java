@@ -1,13 +1,19 @@
 package com.pokemonreview.api.service;
 
 import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewQuery;
+import com.pokemonreview.api.dto.ReviewResponse;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ReviewService {
     ReviewDto createReview(int pokemonId, ReviewDto reviewDto);
     List<ReviewDto> getReviewsByPokemonId(int id);
+    ReviewResponse getReviewsByPokemonId(int pokemonId, ReviewQuery query);
     ReviewDto getReviewById(int reviewId, int pokemonId);
+    Optional<Integer> getReviewVersion(int reviewId, int pokemonId);
     ReviewDto updateReview(int pokemonId, int reviewId, ReviewDto reviewDto);
+    ReviewDto updateReview(int pokemonId, int reviewId, ReviewDto reviewDto, Integer expectedVersion);
     void deleteReview(int pokemonId, int reviewId);
 }
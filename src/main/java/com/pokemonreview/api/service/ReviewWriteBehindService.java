@@ -0,0 +1,15 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.ReviewDto;
+
+public interface ReviewWriteBehindService {
+    boolean isEnabled();
+
+    /**
+     * Queues a review for the next batched insert and returns it with its id already assigned. The Pokemon is
+     * only checked when the batch is written; reviews of a Pokemon that no longer exists are dropped then.
+     */
+    ReviewDto enqueue(int pokemonId, ReviewDto reviewDto);
+
+    int getQueueSize();
+}
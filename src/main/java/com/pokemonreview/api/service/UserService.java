@@ -0,0 +1,11 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.RegisterDto;
+import com.pokemonreview.api.dto.UserImportResponse;
+
+import java.util.List;
+
+public interface UserService {
+    boolean register(RegisterDto registerDto);
+    UserImportResponse importUsers(List<RegisterDto> users);
+}
@@ -0,0 +1,59 @@
+package com.pokemonreview.api.service.impl;
+
+import com.pokemonreview.api.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursors: the sort key values of the last row of a page, base64url encoded. Public so the
+ * reactive catalog can accept the cursors this API hands out.
+ */
+public final class KeysetCursor {
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(long... values) {
+        StringBuilder builder = new StringBuilder();
+        for (long value : values) {
+            if (builder.length() > 0) {
+                builder.append(':');
+            }
+            builder.append(value);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(builder.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static long[] decode(String cursor, int arity) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split(":");
+            if (parts.length != arity) {
+                throw new InvalidCursorException("Cursor is not valid for this listing");
+            }
+            long[] values = new long[arity];
+            for (int i = 0; i < arity; i++) {
+                values[i] = Long.parseLong(parts[i]);
+            }
+            return values;
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Cursor is malformed");
+        }
+    }
+
+    /**
+     * Decodes a cursor over int keys, rejecting values no page of ours could have produced rather than
+     * letting them wrap around.
+     */
+    public static int[] decodeInts(String cursor, int arity) {
+        long[] values = decode(cursor, arity);
+        int[] ints = new int[arity];
+        for (int i = 0; i < arity; i++) {
+            if (values[i] < Integer.MIN_VALUE || values[i] > Integer.MAX_VALUE) {
+                throw new InvalidCursorException("Cursor is not valid for this listing");
+            }
+            ints[i] = (int) values[i];
+        }
+        return ints;
+    }
+}
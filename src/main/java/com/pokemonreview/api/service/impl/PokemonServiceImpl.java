@@ -1,36 +1,88 @@
 package com.pokemonreview.api.service.impl;
 
+import com.pokemonreview.api.cache.ResponseCache;
 import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.PokemonField;
+import com.pokemonreview.api.dto.PokemonQuery;
 import com.pokemonreview.api.dto.PokemonResponse;
 import com.pokemonreview.api.exceptions.PokemonNotFoundException;
+import com.pokemonreview.api.exceptions.PreconditionFailedException;
 import com.pokemonreview.api.models.Pokemon;
 import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
 import com.pokemonreview.api.service.PokemonService;
+import com.pokemonreview.api.service.RatingService;
+import com.pokemonreview.api.service.ReviewSearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 public class PokemonServiceImpl implements PokemonService {
+    private static final Logger log = LoggerFactory.getLogger(PokemonServiceImpl.class);
+
     private PokemonRepository pokemonRepository;
+    private ReviewRepository reviewRepository;
+    private RatingService ratingService;
+    private ReviewSearchService reviewSearchService;
+    private TransactionTemplate transactionTemplate;
+    private ResponseCache responseCache;
+
+    @Value("${api.paging.max-page-size:100}")
+    private int maxPageSize = 100;
+
+    @Value("${pokemon.delete.chunk-size:10000}")
+    private int deleteChunkSize = 10000;
+
+    // Number of Pokemon per type, loaded once at startup and then adjusted after each committed write,
+    // so facet reads never touch the table.
+    private final ConcurrentHashMap<String, LongAdder> typeCounts = new ConcurrentHashMap<>();
 
     @Autowired
-    public PokemonServiceImpl(PokemonRepository pokemonRepository) {
+    public PokemonServiceImpl(PokemonRepository pokemonRepository, ReviewRepository reviewRepository,
+                              RatingService ratingService, ReviewSearchService reviewSearchService,
+                              TransactionTemplate transactionTemplate, ResponseCache responseCache) {
         this.pokemonRepository = pokemonRepository;
+        this.reviewRepository = reviewRepository;
+        this.ratingService = ratingService;
+        this.reviewSearchService = reviewSearchService;
+        this.transactionTemplate = transactionTemplate;
+        this.responseCache = responseCache;
     }
 
     @Override
+    @Transactional
     public PokemonDto createPokemon(PokemonDto pokemonDto) {
         Pokemon pokemon = new Pokemon();
         pokemon.setName(pokemonDto.getName());
         pokemon.setType(pokemonDto.getType());
 
         Pokemon newPokemon = pokemonRepository.save(pokemon);
+        ratingService.createRating(newPokemon.getId());
+        adjustTypeCount(newPokemon.getType(), 1);
+        AfterCommit.run(responseCache::invalidatePokemonPages);
 
         PokemonDto pokemonResponse = new PokemonDto();
         pokemonResponse.setId(newPokemon.getId());
@@ -40,51 +92,197 @@ public class PokemonServiceImpl implements PokemonService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PokemonResponse getAllPokemon(int pageNo, int pageSize) {
-        Pageable pageable = PageRequest.of(pageNo, pageSize);
-        Page<Pokemon> pokemons = pokemonRepository.findAll(pageable);
-        List<Pokemon> listOfPokemon = pokemons.getContent();
-        List<PokemonDto> content = listOfPokemon.stream().map(p -> mapToDto(p)).collect(Collectors.toList());
+        return getAllPokemon(PokemonQuery.builder().pageNo(pageNo).pageSize(pageSize).build());
+    }
 
-        PokemonResponse pokemonResponse = new PokemonResponse();
-        pokemonResponse.setContent(content);
-        pokemonResponse.setPageNo(pokemons.getNumber());
-        pokemonResponse.setPageSize(pokemons.getSize());
-        pokemonResponse.setTotalElements(pokemons.getTotalElements());
-        pokemonResponse.setTotalPages(pokemons.getTotalPages());
-        pokemonResponse.setLast(pokemons.isLast());
+    @Override
+    @Transactional(readOnly = true)
+    public PokemonResponse getAllPokemon(PokemonQuery query) {
+        int pageSize = Math.max(1, Math.min(query.getPageSize(), maxPageSize));
 
+        String type = query.getType();
+        Set<PokemonField> fields = query.getFields() == null ? EnumSet.allOf(PokemonField.class) : query.getFields();
+
+        if (query.isKeyset()) {
+            int afterId = query.getAfter() == null ? 0 : KeysetCursor.decodeInts(query.getAfter(), 1)[0];
+            Slice<PokemonDto> pokemons = pokemonRepository.findProjected(type, afterId, fields, PageRequest.of(0, pageSize));
+            PokemonResponse pokemonResponse = mapToResponse(pokemons);
+            if (pokemons.hasNext()) {
+                List<PokemonDto> listOfPokemon = pokemons.getContent();
+                pokemonResponse.setNextCursor(KeysetCursor.encode(listOfPokemon.get(listOfPokemon.size() - 1).getId()));
+            }
+            return pokemonResponse;
+        }
+
+        // Always ordered by id, so the (type, id) index or the primary key serves both the filter and the sort.
+        Pageable pageable = PageRequest.of(Math.max(0, query.getPageNo()), pageSize);
+        Slice<PokemonDto> pokemons = pokemonRepository.findProjected(type, 0, fields, pageable);
+        PokemonResponse pokemonResponse = mapToResponse(pokemons);
+        if (!query.isWithCount()) {
+            return pokemonResponse;
+        }
+
+        if (type != null) {
+            // The precomputed facet count stands in for a count query.
+            long total = getTypeCount(type);
+            pokemonResponse.setTotalElements(total);
+            pokemonResponse.setTotalPages((int) ((total + pageSize - 1) / pageSize));
+            return pokemonResponse;
+        }
+
+        Page<PokemonDto> page = PageableExecutionUtils.getPage(pokemons.getContent(), pageable, pokemonRepository::count);
+        pokemonResponse.setTotalElements(page.getTotalElements());
+        pokemonResponse.setTotalPages(page.getTotalPages());
         return pokemonResponse;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PokemonDto getPokemonById(int id) {
         Pokemon pokemon = pokemonRepository.findById(id).orElseThrow(() -> new PokemonNotFoundException("Pokemon could not be found"));
         return mapToDto(pokemon);
     }
 
     @Override
+    public Optional<Integer> getPokemonVersion(int id) {
+        return pokemonRepository.findVersionById(id);
+    }
+
+    @Override
+    @Transactional
     public PokemonDto updatePokemon(PokemonDto pokemonDto, int id) {
+        return updatePokemon(pokemonDto, id, null);
+    }
+
+    @Override
+    @Transactional
+    public PokemonDto updatePokemon(PokemonDto pokemonDto, int id, Integer expectedVersion) {
         Pokemon pokemon = pokemonRepository.findById(id).orElseThrow(() -> new PokemonNotFoundException("Pokemon could not be updated"));
+        if (expectedVersion != null && expectedVersion != pokemon.getVersion()) {
+            throw new PreconditionFailedException("Pokemon was modified since it was read");
+        }
 
+        String previousType = pokemon.getType();
         pokemon.setName(pokemonDto.getName());
         pokemon.setType(pokemonDto.getType());
 
         Pokemon updatedPokemon = pokemonRepository.save(pokemon);
+        try {
+            // Flush now so the version check runs here and the response carries the bumped version.
+            pokemonRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            throw new PreconditionFailedException("Pokemon was modified since it was read");
+        }
+        if (!Objects.equals(previousType, updatedPokemon.getType())) {
+            adjustTypeCount(previousType, -1);
+            adjustTypeCount(updatedPokemon.getType(), 1);
+        }
+        AfterCommit.run(() -> responseCache.invalidatePokemon(id));
         return mapToDto(updatedPokemon);
     }
 
     @Override
     public void deletePokemonId(int id) {
-        Pokemon pokemon = pokemonRepository.findById(id).orElseThrow(() -> new PokemonNotFoundException("Pokemon could not be delete"));
-        pokemonRepository.delete(pokemon);
+        String type = pokemonRepository.findTypeById(id)
+                .orElseThrow(() -> new PokemonNotFoundException("Pokemon could not be delete"));
+
+        // Remove full chunks of reviews in their own short transactions, seeking from the previous chunk's last
+        // id, so neither memory nor lock time grows with the number of reviews.
+        // Each committed chunk is visible on its own, so its reviews leave the search index and the cached
+        // review lists right away.
+        int afterId = 0;
+        List<Integer> chunk;
+        try {
+            while ((chunk = reviewRepository.findIdsByPokemonIdAfter(id, afterId, PageRequest.of(0, deleteChunkSize))).size() == deleteChunkSize) {
+                int maxId = chunk.get(chunk.size() - 1);
+                transactionTemplate.executeWithoutResult(status -> reviewRepository.deleteByPokemonIdUpTo(id, maxId));
+                afterId = maxId;
+                chunk.forEach(reviewSearchService::removeReview);
+                responseCache.invalidateReviews(id);
+            }
+
+            // The last partial chunk, the rating and the Pokemon go together.
+            transactionTemplate.executeWithoutResult(status -> {
+                reviewRepository.deleteAllByPokemonId(id);
+                ratingService.deleteRating(id);
+                if (pokemonRepository.deletePokemonById(id) == 0) {
+                    throw new PokemonNotFoundException("Pokemon could not be delete");
+                }
+                adjustTypeCount(type, -1);
+            });
+        } catch (RuntimeException ex) {
+            if (afterId > 0) {
+                restoreRatingAfterPartialDelete(id, ex);
+            }
+            throw ex;
+        }
+        reviewSearchService.removePokemon(id);
+        responseCache.invalidatePokemon(id);
+        responseCache.invalidateReviews(id);
+    }
+
+    /**
+     * The chunks deleted reviews without touching the rating, so a delete that stops half way leaves the
+     * Pokemon with a rating over reviews it no longer has. Recount it from what is left.
+     */
+    private void restoreRatingAfterPartialDelete(int id, RuntimeException cause) {
+        try {
+            ratingService.reconcile(id);
+        } catch (RuntimeException ex) {
+            log.warn("Could not reconcile the rating of Pokemon {} after a partial delete", id, ex);
+            cause.addSuppressed(ex);
+        }
+        responseCache.invalidatePokemon(id);
+    }
+
+    @Override
+    public Map<String, Long> getTypeCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        typeCounts.forEach((type, count) -> {
+            long value = count.sum();
+            if (value > 0) {
+                counts.put(type, value);
+            }
+        });
+        return counts;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadTypeCounts() {
+        typeCounts.clear();
+        for (Object[] row : pokemonRepository.countByType()) {
+            typeCounts.computeIfAbsent((String) row[0], key -> new LongAdder()).add((Long) row[1]);
+        }
+    }
+
+    private long getTypeCount(String type) {
+        LongAdder count = typeCounts.get(type);
+        return count == null ? 0 : Math.max(0, count.sum());
+    }
+
+    private void adjustTypeCount(String type, int delta) {
+        if (type != null) {
+            AfterCommit.run(() -> typeCounts.computeIfAbsent(type, key -> new LongAdder()).add(delta));
+        }
+    }
+
+    private PokemonResponse mapToResponse(Slice<PokemonDto> pokemons) {
+        PokemonResponse pokemonResponse = new PokemonResponse();
+        pokemonResponse.setContent(pokemons.getContent());
+        pokemonResponse.setPageNo(pokemons.getNumber());
+        pokemonResponse.setPageSize(pokemons.getSize());
+        pokemonResponse.setLast(pokemons.isLast());
+        return pokemonResponse;
     }
 
-    private PokemonDto mapToDto(Pokemon pokemon) {
+    PokemonDto mapToDto(Pokemon pokemon) {
         PokemonDto pokemonDto = new PokemonDto();
         pokemonDto.setId(pokemon.getId());
         pokemonDto.setName(pokemon.getName());
         pokemonDto.setType(pokemon.getType());
+        pokemonDto.setVersion(pokemon.getVersion());
         return pokemonDto;
     }
 
@@ -0,0 +1,181 @@
+package com.pokemonreview.api.service.impl;
+
+import com.pokemonreview.api.dto.PokemonRatingDto;
+import com.pokemonreview.api.exceptions.PokemonNotFoundException;
+import com.pokemonreview.api.models.PokemonRating;
+import com.pokemonreview.api.repository.PokemonRatingRepository;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.service.RatingDelta;
+import com.pokemonreview.api.service.RatingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class RatingServiceImpl implements RatingService {
+    private static final Logger log = LoggerFactory.getLogger(RatingServiceImpl.class);
+
+    private PokemonRatingRepository ratingRepository;
+    private PokemonRepository pokemonRepository;
+    private TransactionTemplate seedTransaction;
+
+    @Autowired
+    public RatingServiceImpl(PokemonRatingRepository ratingRepository, PokemonRepository pokemonRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.ratingRepository = ratingRepository;
+        this.pokemonRepository = pokemonRepository;
+        this.seedTransaction = new TransactionTemplate(transactionManager);
+        this.seedTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Gives every Pokemon that predates the summary table, or lost its row, a summary of its existing reviews.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRatings() {
+        try {
+            Integer seeded = seedTransaction.execute(status -> ratingRepository.insertMissingRatings());
+            if (seeded != null && seeded > 0) {
+                log.info("Seeded {} missing rating summaries from existing reviews", seeded);
+            }
+        } catch (DataIntegrityViolationException ex) {
+            // A first review raced the backfill and seeded its row itself; the rest are seeded on their next review.
+            log.warn("Rating backfill raced with a review write", ex);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PokemonRatingDto getRating(int pokemonId) {
+        PokemonRating rating = ratingRepository.findById(pokemonId).orElse(null);
+        if (rating == null) {
+            if (!pokemonRepository.existsById(pokemonId)) {
+                throw new PokemonNotFoundException("Pokemon could not be found");
+            }
+            // Not seeded yet: summarize the reviews directly rather than report none.
+            List<Object[]> rows = ratingRepository.aggregateReviews(pokemonId);
+            rating = rows.isEmpty() ? PokemonRating.builder().pokemonId(pokemonId).build() : mapToEntity(rows.get(0));
+        }
+        return mapToDto(rating);
+    }
+
+    @Override
+    @Transactional
+    public void createRating(int pokemonId) {
+        ratingRepository.save(PokemonRating.builder().pokemonId(pokemonId).fresh(true).build());
+    }
+
+    @Override
+    @Transactional
+    public void applyDelta(int pokemonId, RatingDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        if (update(pokemonId, delta) > 0) {
+            return;
+        }
+        // No summary row yet. Seed it from the reviews other transactions have committed, in a transaction of its
+        // own, so a concurrent first review loses the insert race harmlessly; then apply this delta on top.
+        try {
+            seedTransaction.executeWithoutResult(status -> ratingRepository.insertMissingRating(pokemonId));
+        } catch (DataIntegrityViolationException ex) {
+            // Another transaction seeded the row first.
+        }
+        if (update(pokemonId, delta) == 0) {
+            // The Pokemon is not visible outside this transaction, so this transaction created it and nothing
+            // can race; the aggregate already includes this transaction's own review changes.
+            ratingRepository.insertMissingRating(pokemonId);
+        }
+    }
+
+    private int update(int pokemonId, RatingDelta delta) {
+        return ratingRepository.applyDelta(pokemonId, delta.getReviewCount(), delta.getStarSum(),
+                delta.getStarCount(1), delta.getStarCount(2), delta.getStarCount(3),
+                delta.getStarCount(4), delta.getStarCount(5));
+    }
+
+    @Override
+    @Transactional
+    public PokemonRatingDto reconcile(int pokemonId) {
+        if (!pokemonRepository.existsById(pokemonId)) {
+            throw new PokemonNotFoundException("Pokemon could not be found");
+        }
+        List<Object[]> rows = ratingRepository.aggregateReviews(pokemonId);
+        PokemonRating aggregated = rows.isEmpty()
+                ? PokemonRating.builder().pokemonId(pokemonId).build()
+                : mapToEntity(rows.get(0));
+
+        PokemonRating rating = ratingRepository.findById(pokemonId).orElse(null);
+        if (rating == null) {
+            aggregated.setFresh(true);
+            rating = ratingRepository.save(aggregated);
+        } else {
+            rating.setReviewCount(aggregated.getReviewCount());
+            rating.setStarSum(aggregated.getStarSum());
+            rating.setOneStar(aggregated.getOneStar());
+            rating.setTwoStars(aggregated.getTwoStars());
+            rating.setThreeStars(aggregated.getThreeStars());
+            rating.setFourStars(aggregated.getFourStars());
+            rating.setFiveStars(aggregated.getFiveStars());
+        }
+        return mapToDto(rating);
+    }
+
+    @Override
+    @Transactional
+    public int reconcileAll() {
+        ratingRepository.deleteAllRatings();
+        return ratingRepository.insertMissingRatings();
+    }
+
+    @Override
+    @Transactional
+    public void deleteRating(int pokemonId) {
+        ratingRepository.deleteByPokemonId(pokemonId);
+    }
+
+    private PokemonRating mapToEntity(Object[] row) {
+        return PokemonRating.builder()
+                .pokemonId(((Number) row[0]).intValue())
+                .reviewCount(asLong(row[1]))
+                .starSum(asLong(row[2]))
+                .oneStar(asLong(row[3]))
+                .twoStars(asLong(row[4]))
+                .threeStars(asLong(row[5]))
+                .fourStars(asLong(row[6]))
+                .fiveStars(asLong(row[7]))
+                .build();
+    }
+
+    private long asLong(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    private PokemonRatingDto mapToDto(PokemonRating rating) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, rating.getOneStar());
+        histogram.put(2, rating.getTwoStars());
+        histogram.put(3, rating.getThreeStars());
+        histogram.put(4, rating.getFourStars());
+        histogram.put(5, rating.getFiveStars());
+
+        PokemonRatingDto ratingDto = new PokemonRatingDto();
+        ratingDto.setPokemonId(rating.getPokemonId());
+        ratingDto.setReviewCount(rating.getReviewCount());
+        ratingDto.setAverageStars(rating.getReviewCount() == 0 ? 0 : (double) rating.getStarSum() / rating.getReviewCount());
+        ratingDto.setHistogram(histogram);
+        return ratingDto;
+    }
+}
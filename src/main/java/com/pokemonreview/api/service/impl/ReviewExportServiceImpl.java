@@ -0,0 +1,55 @@
+package com.pokemonreview.api.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pokemonreview.api.dto.ReviewExportRow;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.ReviewExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class ReviewExportServiceImpl implements ReviewExportService {
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private ReviewRepository reviewRepository;
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    public ReviewExportServiceImpl(ReviewRepository reviewRepository, ObjectMapper objectMapper) {
+        this.reviewRepository = reviewRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportReviews(int afterId, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ReviewExportRow.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long written = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+             Stream<ReviewExportRow> rows = reviewRepository.streamForExport(afterId)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Iterator<ReviewExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++written % FLUSH_EVERY_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+        return written;
+    }
+}
@@ -0,0 +1,33 @@
+package com.pokemonreview.api.service.impl;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Hands out review ids ahead of the insert from {@code review_seq}, in blocks of the sequence increment, the
+ * same way Hibernate's pooled optimizer does: a sequence value {@code v} reserves {@code v - increment + 1 .. v}.
+ * Blocks taken here and by Hibernate therefore never overlap.
+ */
+class ReviewIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextValueSql;
+    private final int increment;
+
+    private long next = 1;
+    private long hi = 0;
+
+    ReviewIdAllocator(JdbcTemplate jdbcTemplate, String nextValueSql, int increment) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextValueSql = nextValueSql;
+        this.increment = increment;
+    }
+
+    synchronized int nextId() {
+        if (next > hi) {
+            Long value = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+            hi = value;
+            next = Math.max(1, value - increment + 1);
+        }
+        return (int) next++;
+    }
+}
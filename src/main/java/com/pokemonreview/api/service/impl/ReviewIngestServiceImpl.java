@@ -0,0 +1,185 @@
+package com.pokemonreview.api.service.impl;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.pokemonreview.api.cache.ResponseCache;
+import com.pokemonreview.api.dto.ReviewIngestDto;
+import com.pokemonreview.api.dto.ReviewIngestResponse;
+import com.pokemonreview.api.models.Review;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.service.RatingDelta;
+import com.pokemonreview.api.service.RatingService;
+import com.pokemonreview.api.service.ReviewIngestService;
+import com.pokemonreview.api.service.ReviewSearchService;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class ReviewIngestServiceImpl implements ReviewIngestService {
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private PokemonRepository pokemonRepository;
+    private RatingService ratingService;
+    private ReviewSearchService reviewSearchService;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private ObjectMapper objectMapper;
+    private ResponseCache responseCache;
+
+    @Value("${reviews.ingest.batch-size:50}")
+    private int batchSize = 50;
+
+    @Value("${reviews.ingest.chunk-size:5000}")
+    private int chunkSize = 5000;
+
+    @Autowired
+    public ReviewIngestServiceImpl(PokemonRepository pokemonRepository, RatingService ratingService,
+                                   ReviewSearchService reviewSearchService, EntityManager entityManager,
+                                   TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                                   ResponseCache responseCache) {
+        this.pokemonRepository = pokemonRepository;
+        this.ratingService = ratingService;
+        this.reviewSearchService = reviewSearchService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public ReviewIngestResponse ingest(InputStream json) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(ReviewIngestDto.class);
+        Progress progress = new Progress();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected a JSON array of reviews");
+            }
+            List<ReviewIngestDto> chunk = new ArrayList<>(chunkSize);
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                chunk.add(reader.readValue(parser));
+                if (chunk.size() == chunkSize) {
+                    ingestChunk(chunk, progress);
+                    chunk.clear();
+                }
+            }
+            if (token != JsonToken.END_ARRAY) {
+                // Earlier chunks are already committed; the index tells the client where to resume.
+                throw new JsonParseException(parser, "Expected a review object at index " + (progress.seen + chunk.size()));
+            }
+            ingestChunk(chunk, progress);
+        }
+
+        return ReviewIngestResponse.builder()
+                .inserted(progress.inserted)
+                .rejected(progress.rejected)
+                .errors(progress.errors)
+                .build();
+    }
+
+    private void ingestChunk(List<ReviewIngestDto> chunk, Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        resolvePokemonIds(chunk, progress);
+
+        List<ReviewIngestDto> accepted = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            ReviewIngestDto row = chunk.get(i);
+            long index = progress.seen + i;
+            if (!progress.knownPokemonIds.contains(row.getPokemonId())) {
+                progress.reject(index, "Pokemon " + row.getPokemonId() + " could not be found");
+            } else if (row.getStars() < 1 || row.getStars() > 5) {
+                progress.reject(index, "Stars must be between 1 and 5");
+            } else if (!StringUtils.hasText(row.getTitle())) {
+                progress.reject(index, "Title is required");
+            } else {
+                accepted.add(row);
+            }
+        }
+        progress.seen += chunk.size();
+
+        if (!accepted.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> insert(accepted));
+            progress.inserted += accepted.size();
+        }
+    }
+
+    private void resolvePokemonIds(List<ReviewIngestDto> chunk, Progress progress) {
+        Set<Integer> unresolved = new HashSet<>();
+        for (ReviewIngestDto row : chunk) {
+            int pokemonId = row.getPokemonId();
+            if (!progress.knownPokemonIds.contains(pokemonId) && !progress.missingPokemonIds.contains(pokemonId)) {
+                unresolved.add(pokemonId);
+            }
+        }
+        if (unresolved.isEmpty()) {
+            return;
+        }
+        List<Integer> existing = pokemonRepository.findExistingIds(unresolved);
+        progress.knownPokemonIds.addAll(existing);
+        existing.forEach(unresolved::remove);
+        progress.missingPokemonIds.addAll(unresolved);
+    }
+
+    private void insert(List<ReviewIngestDto> rows) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        Map<Integer, RatingDelta> deltas = new HashMap<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            ReviewIngestDto row = rows.get(i);
+            Review review = new Review();
+            review.setTitle(row.getTitle());
+            review.setContent(row.getContent());
+            review.setStars(row.getStars());
+            review.setPokemon(pokemonRepository.getReferenceById(row.getPokemonId()));
+            entityManager.persist(review);
+            reviewSearchService.indexReview(review.getId(), row.getPokemonId(), row.getTitle(), row.getContent());
+
+            deltas.computeIfAbsent(row.getPokemonId(), id -> new RatingDelta()).add(row.getStars());
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        deltas.forEach(ratingService::applyDelta);
+        AfterCommit.run(() -> deltas.keySet().forEach(responseCache::invalidateReviews));
+    }
+
+    private static class Progress {
+        private final Set<Integer> knownPokemonIds = new HashSet<>();
+        private final Set<Integer> missingPokemonIds = new HashSet<>();
+        private final List<String> errors = new ArrayList<>();
+        private long seen;
+        private long inserted;
+        private long rejected;
+
+        private void reject(long index, String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Review " + index + ": " + reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.pokemonreview.api.service.impl;
+
+import com.pokemonreview.api.dto.ReviewExportRow;
+import com.pokemonreview.api.dto.ReviewSearchResult;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.search.InvertedIndex;
+import com.pokemonreview.api.search.ScoredDoc;
+import com.pokemonreview.api.service.ReviewSearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ReviewSearchServiceImpl implements ReviewSearchService {
+    private static final Logger log = LoggerFactory.getLogger(ReviewSearchServiceImpl.class);
+
+    private ReviewRepository reviewRepository;
+
+    @Value("${reviews.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup = true;
+
+    @Value("${reviews.search.rebuild-chunk-size:10000}")
+    private int rebuildChunkSize = 10000;
+
+    @Value("${reviews.search.rebuild-threads:0}")
+    private int rebuildThreads = 0;
+
+    @Value("${api.paging.max-page-size:100}")
+    private int maxPageSize = 100;
+
+    private volatile InvertedIndex index = new InvertedIndex();
+
+    // Mutations applied while a rebuild is loading, replayed onto the new index before it is swapped in.
+    private final Object rebuildMonitor = new Object();
+    private List<Consumer<InvertedIndex>> pendingDuringRebuild;
+
+    @Autowired
+    public ReviewSearchServiceImpl(ReviewRepository reviewRepository) {
+        this.reviewRepository = reviewRepository;
+    }
+
+    @Override
+    public List<ReviewSearchResult> search(String query, int limit) {
+        List<ScoredDoc> hits = index.search(query, Math.max(1, Math.min(limit, maxPageSize)));
+        if (hits.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Integer, ReviewExportRow> rows = reviewRepository.findRowsByIdIn(
+                        hits.stream().map(ScoredDoc::getDocId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(ReviewExportRow::getId, Function.identity()));
+
+        List<ReviewSearchResult> results = new ArrayList<>(hits.size());
+        for (ScoredDoc hit : hits) {
+            ReviewExportRow row = rows.get(hit.getDocId());
+            if (row != null) {
+                results.add(ReviewSearchResult.builder()
+                        .id(row.getId())
+                        .pokemonId(row.getPokemonId())
+                        .title(row.getTitle())
+                        .content(row.getContent())
+                        .stars(row.getStars())
+                        .score(hit.getScore())
+                        .build());
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void indexReview(int reviewId, int pokemonId, String title, String content) {
+        InvertedIndex.Document document = InvertedIndex.analyze(reviewId, pokemonId, title, content);
+        AfterCommit.run(() -> apply(target -> target.add(document)));
+    }
+
+    @Override
+    public void removeReview(int reviewId) {
+        AfterCommit.run(() -> apply(target -> target.remove(reviewId)));
+    }
+
+    @Override
+    public void removePokemon(int pokemonId) {
+        AfterCommit.run(() -> apply(target -> target.removeGroup(pokemonId)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            long start = System.nanoTime();
+            int indexed = rebuild();
+            log.info("Indexed {} reviews for search in {} ms", indexed, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    @Override
+    public int rebuild() {
+        synchronized (rebuildMonitor) {
+            if (pendingDuringRebuild != null) {
+                throw new IllegalStateException("A search index rebuild is already running");
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        int threads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            int minId = reviewRepository.findMinId();
+            int maxId = reviewRepository.findMaxId();
+            List<Future<List<InvertedIndex.Document>>> chunks = new ArrayList<>();
+            for (long from = minId; from <= maxId; from += rebuildChunkSize) {
+                int fromId = (int) from;
+                int toId = (int) Math.min(from + rebuildChunkSize - 1, maxId);
+                chunks.add(pool.submit(() -> reviewRepository.findRowsByIdBetween(fromId, toId).stream()
+                        .map(row -> InvertedIndex.analyze(row.getId(), row.getPokemonId() == null ? 0 : row.getPokemonId(),
+                                row.getTitle(), row.getContent()))
+                        .collect(Collectors.toList())));
+            }
+
+            InvertedIndex rebuilt = new InvertedIndex();
+            for (Future<List<InvertedIndex.Document>> chunk : chunks) {
+                chunk.get().forEach(rebuilt::add);
+            }
+
+            synchronized (rebuildMonitor) {
+                pendingDuringRebuild.forEach(mutation -> mutation.accept(rebuilt));
+                index = rebuilt;
+            }
+            return rebuilt.size();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding the search index", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Could not rebuild the search index", ex.getCause());
+        } finally {
+            synchronized (rebuildMonitor) {
+                pendingDuringRebuild = null;
+            }
+            pool.shutdownNow();
+        }
+    }
+
+    private void apply(Consumer<InvertedIndex> mutation) {
+        synchronized (rebuildMonitor) {
+            mutation.accept(index);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(mutation);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.pokemonreview.api.service.impl;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Moves {@code review_seq} past the existing review ids. Reviews used to take their ids from an identity
+ * column, and {@code ddl-auto=update} creates the sequence starting at 1, so on a database that already has
+ * reviews the first ids handed out would collide with them. Runs while the context starts, after the schema
+ * update and before the server accepts requests; once the sequence is ahead it leaves it alone.
+ */
+@Component
+public class ReviewSequenceMigration {
+    private static final Logger log = LoggerFactory.getLogger(ReviewSequenceMigration.class);
+
+    private static final String REVIEW_SEQUENCE = "review_seq";
+    private static final int REVIEW_SEQUENCE_INCREMENT = 50;
+
+    private JdbcTemplate jdbcTemplate;
+    private String nextValueSql;
+
+    @Autowired
+    public ReviewSequenceMigration(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextValueSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceNextValString(REVIEW_SEQUENCE);
+    }
+
+    @PostConstruct
+    public void migrate() {
+        advancePastExistingIds();
+    }
+
+    /**
+     * Restarts the sequence so its next block starts right after the highest review id, if the block it would
+     * hand out next overlaps existing ids. Returns whether it did.
+     */
+    public boolean advancePastExistingIds() {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from review", Long.class);
+        if (maxId == null || maxId == 0) {
+            return false;
+        }
+        // A sequence value v reserves the ids v - increment + 1 .. v, as in ReviewIdAllocator.
+        Long next = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+        if (next != null && next - REVIEW_SEQUENCE_INCREMENT >= maxId) {
+            return false;
+        }
+        long restart = maxId + REVIEW_SEQUENCE_INCREMENT;
+        jdbcTemplate.execute("alter sequence " + REVIEW_SEQUENCE + " restart with " + restart);
+        log.info("Restarted {} at {} to move it past existing review id {}", REVIEW_SEQUENCE, restart, maxId);
+        return true;
+    }
+}
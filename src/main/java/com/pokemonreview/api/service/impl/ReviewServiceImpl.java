@@ -1,32 +1,63 @@
 package com.pokemonreview.api.service.impl;
 
+import com.pokemonreview.api.cache.ResponseCache;
 import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewField;
+import com.pokemonreview.api.dto.ReviewQuery;
+import com.pokemonreview.api.dto.ReviewResponse;
+import com.pokemonreview.api.dto.ReviewSort;
 import com.pokemonreview.api.exceptions.PokemonNotFoundException;
+import com.pokemonreview.api.exceptions.PreconditionFailedException;
 import com.pokemonreview.api.exceptions.ReviewNotFoundException;
+import com.pokemonreview.api.exceptions.ServiceBusyException;
 import com.pokemonreview.api.models.Pokemon;
 import com.pokemonreview.api.models.Review;
 import com.pokemonreview.api.repository.PokemonRepository;
 import com.pokemonreview.api.repository.ReviewRepository;
-import com.pokemonreview.api.service.PokemonService;
+import com.pokemonreview.api.security.SecurityConstants;
+import com.pokemonreview.api.service.RatingDelta;
+import com.pokemonreview.api.service.RatingService;
+import com.pokemonreview.api.service.ReviewSearchService;
 import com.pokemonreview.api.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class ReviewServiceImpl implements ReviewService {
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
     private ReviewRepository reviewRepository;
     private PokemonRepository pokemonRepository;
+    private RatingService ratingService;
+    private ReviewSearchService reviewSearchService;
+    private ResponseCache responseCache;
+
+    @Value("${api.paging.max-page-size:100}")
+    private int maxPageSize = 100;
 
     @Autowired
-    public ReviewServiceImpl(ReviewRepository reviewRepository, PokemonRepository pokemonRepository) {
+    public ReviewServiceImpl(ReviewRepository reviewRepository, PokemonRepository pokemonRepository, RatingService ratingService,
+                             ReviewSearchService reviewSearchService, ResponseCache responseCache) {
         this.reviewRepository = reviewRepository;
         this.pokemonRepository = pokemonRepository;
+        this.ratingService = ratingService;
+        this.reviewSearchService = reviewSearchService;
+        this.responseCache = responseCache;
     }
 
     @Override
+    @Transactional
     public ReviewDto createReview(int pokemonId, ReviewDto reviewDto) {
         Review review = mapToEntity(reviewDto);
 
@@ -35,11 +66,15 @@ public class ReviewServiceImpl implements ReviewService {
         review.setPokemon(pokemon);
 
         Review newReview = reviewRepository.save(review);
+        ratingService.applyDelta(pokemonId, RatingDelta.added(newReview.getStars()));
+        reviewSearchService.indexReview(newReview.getId(), pokemonId, newReview.getTitle(), newReview.getContent());
+        AfterCommit.run(() -> responseCache.invalidateReviews(pokemonId));
 
         return mapToDto(newReview);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ReviewDto> getReviewsByPokemonId(int id) {
         List<Review> reviews = reviewRepository.findByPokemonId(id);
 
@@ -47,56 +82,130 @@ public class ReviewServiceImpl implements ReviewService {
     }
 
     @Override
-    public ReviewDto getReviewById(int reviewId, int pokemonId) {
-        Pokemon pokemon = pokemonRepository.findById(pokemonId).orElseThrow(() -> new PokemonNotFoundException("Pokemon with associated review not found"));
-
-        Review review = reviewRepository.findById(reviewId).orElseThrow(() -> new ReviewNotFoundException("Review with associate pokemon not found"));
-
-        if(review.getPokemon().getId() != pokemon.getId()) {
-            throw new ReviewNotFoundException("This review does not belond to a pokemon");
+    @Transactional(readOnly = true)
+    public ReviewResponse getReviewsByPokemonId(int pokemonId, ReviewQuery query) {
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(query.getPageSize(), maxPageSize)));
+        String after = query.getAfter();
+        Set<ReviewField> fields = query.getFields() == null ? EnumSet.allOf(ReviewField.class) : query.getFields();
+        int keyStars = Integer.MAX_VALUE;
+        int keyId;
+
+        switch (query.getSort()) {
+            case NEWEST:
+                keyId = after == null ? Integer.MAX_VALUE : KeysetCursor.decodeInts(after, 1)[0];
+                break;
+            case STARS:
+                int[] key = after == null ? new int[]{Integer.MAX_VALUE, Integer.MAX_VALUE} : KeysetCursor.decodeInts(after, 2);
+                keyStars = key[0];
+                keyId = key[1];
+                break;
+            default:
+                keyId = after == null ? 0 : KeysetCursor.decodeInts(after, 1)[0];
+        }
+        Slice<ReviewDto> reviews = reviewRepository.findProjected(pokemonId, query.getSort(), keyStars, keyId, fields, pageable);
+
+        ReviewResponse reviewResponse = new ReviewResponse();
+        reviewResponse.setContent(reviews.getContent());
+        reviewResponse.setPageSize(reviews.getSize());
+        reviewResponse.setLast(reviews.isLast());
+        if (reviews.hasNext()) {
+            ReviewDto last = reviews.getContent().get(reviews.getNumberOfElements() - 1);
+            reviewResponse.setNextCursor(query.getSort() == ReviewSort.STARS
+                    ? KeysetCursor.encode(last.getStars(), last.getId())
+                    : KeysetCursor.encode(last.getId()));
         }
+        return reviewResponse;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReviewDto getReviewById(int reviewId, int pokemonId) {
+        Review review = reviewRepository.findByIdAndPokemonId(reviewId, pokemonId)
+                .orElseThrow(() -> new ReviewNotFoundException("Review with associate pokemon not found"));
 
         return mapToDto(review);
     }
 
     @Override
-    public ReviewDto updateReview(int pokemonId, int reviewId, ReviewDto reviewDto) {
-        Pokemon pokemon = pokemonRepository.findById(pokemonId).orElseThrow(() -> new PokemonNotFoundException("Pokemon with associated review not found"));
+    public Optional<Integer> getReviewVersion(int reviewId, int pokemonId) {
+        return reviewRepository.findVersionByIdAndPokemonId(reviewId, pokemonId);
+    }
 
-        Review review = reviewRepository.findById(reviewId).orElseThrow(() -> new ReviewNotFoundException("Review with associate pokemon not found"));
+    @Override
+    @Transactional
+    public ReviewDto updateReview(int pokemonId, int reviewId, ReviewDto reviewDto) {
+        return updateReview(pokemonId, reviewId, reviewDto, null);
+    }
 
-        if(review.getPokemon().getId() != pokemon.getId()) {
-            throw new ReviewNotFoundException("This review does not belong to a pokemon");
+    @Override
+    @Transactional
+    public ReviewDto updateReview(int pokemonId, int reviewId, ReviewDto reviewDto, Integer expectedVersion) {
+        // The version guard turns a concurrent change into a retry, so the rating delta is always computed
+        // against the stars actually replaced. A caller that pinned a version fails instead of retrying.
+        ReviewRepository.StarsAndVersion current;
+        for (int attempt = 1; ; attempt++) {
+            current = findStarsAndVersion(reviewId, pokemonId);
+            if (expectedVersion != null && expectedVersion != current.getVersion()) {
+                throw new PreconditionFailedException("Review was modified since it was read");
+            }
+            if (reviewRepository.updateByIdAndPokemonId(reviewId, pokemonId, current.getVersion(),
+                    reviewDto.getTitle(), reviewDto.getContent(), reviewDto.getStars()) > 0) {
+                break;
+            }
+            checkWriteAttempts(attempt);
         }
 
-        review.setTitle(reviewDto.getTitle());
-        review.setContent(reviewDto.getContent());
-        review.setStars(reviewDto.getStars());
-
-        Review updateReview = reviewRepository.save(review);
-
-        return mapToDto(updateReview);
+        if (current.getStars() != reviewDto.getStars()) {
+            ratingService.applyDelta(pokemonId, RatingDelta.changed(current.getStars(), reviewDto.getStars()));
+        }
+        reviewSearchService.indexReview(reviewId, pokemonId, reviewDto.getTitle(), reviewDto.getContent());
+        AfterCommit.run(() -> responseCache.invalidateReviews(pokemonId));
+
+        ReviewDto updatedReview = new ReviewDto();
+        updatedReview.setId(reviewId);
+        updatedReview.setTitle(reviewDto.getTitle());
+        updatedReview.setContent(reviewDto.getContent());
+        updatedReview.setStars(reviewDto.getStars());
+        updatedReview.setVersion(current.getVersion() + 1);
+        return updatedReview;
     }
 
     @Override
+    @Transactional
     public void deleteReview(int pokemonId, int reviewId) {
-        Pokemon pokemon = pokemonRepository.findById(pokemonId).orElseThrow(() -> new PokemonNotFoundException("Pokemon with associated review not found"));
+        ReviewRepository.StarsAndVersion current;
+        for (int attempt = 1; ; attempt++) {
+            current = findStarsAndVersion(reviewId, pokemonId);
+            if (reviewRepository.deleteByIdAndPokemonId(reviewId, pokemonId, current.getVersion()) > 0) {
+                break;
+            }
+            checkWriteAttempts(attempt);
+        }
 
-        Review review = reviewRepository.findById(reviewId).orElseThrow(() -> new ReviewNotFoundException("Review with associate pokemon not found"));
+        ratingService.applyDelta(pokemonId, RatingDelta.removed(current.getStars()));
+        reviewSearchService.removeReview(reviewId);
+        AfterCommit.run(() -> responseCache.invalidateReviews(pokemonId));
+    }
 
-        if(review.getPokemon().getId() != pokemon.getId()) {
-            throw new ReviewNotFoundException("This review does not belong to a pokemon");
+    private void checkWriteAttempts(int attempt) {
+        // Every lost race means another writer committed, so giving up only happens under heavy contention.
+        if (attempt >= MAX_WRITE_ATTEMPTS) {
+            throw new ServiceBusyException("Review is being modified concurrently", SecurityConstants.BUSY_RETRY_AFTER_SECONDS);
         }
+    }
 
-        reviewRepository.delete(review);
+    private ReviewRepository.StarsAndVersion findStarsAndVersion(int reviewId, int pokemonId) {
+        return reviewRepository.findStarsAndVersionByIdAndPokemonId(reviewId, pokemonId)
+                .orElseThrow(() -> new ReviewNotFoundException("Review with associate pokemon not found"));
     }
 
-    private ReviewDto mapToDto(Review review) {
+    ReviewDto mapToDto(Review review) {
         ReviewDto reviewDto = new ReviewDto();
         reviewDto.setId(review.getId());
         reviewDto.setTitle(review.getTitle());
         reviewDto.setContent(review.getContent());
         reviewDto.setStars(review.getStars());
+        reviewDto.setVersion(review.getVersion());
         return reviewDto;
     }
 
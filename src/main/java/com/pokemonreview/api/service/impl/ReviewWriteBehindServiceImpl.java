@@ -0,0 +1,371 @@
+package com.pokemonreview.api.service.impl;
+
+import com.pokemonreview.api.cache.ResponseCache;
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.exceptions.PokemonNotFoundException;
+import com.pokemonreview.api.exceptions.ServiceBusyException;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.security.SecurityConstants;
+import com.pokemonreview.api.service.RatingDelta;
+import com.pokemonreview.api.service.RatingService;
+import com.pokemonreview.api.service.ReviewSearchService;
+import com.pokemonreview.api.service.ReviewWriteBehindService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in write-behind for review creation ({@code reviews.write-behind.enabled}). Accepted reviews wait in a
+ * bounded queue that a single writer thread drains into multi-row inserts of up to {@code flush-size} rows,
+ * at the latest {@code flush-interval-millis} after the oldest one was queued. A full queue is answered with a
+ * {@link ServiceBusyException}; on shutdown the queue is written out before the data source closes, and
+ * whatever the writer left behind is tried once more on the stopping thread.
+ * <p>
+ * Reviews were already answered with 202, so a failed write is only given up when the row itself is invalid.
+ * Any other failure, such as a lost connection, puts the batch back for another attempt after a backoff that
+ * doubles up to {@code retry-max-backoff-millis}.
+ */
+@Service
+public class ReviewWriteBehindServiceImpl implements ReviewWriteBehindService, SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(ReviewWriteBehindServiceImpl.class);
+
+    private static final String REVIEW_SEQUENCE = "review_seq";
+    private static final int REVIEW_SEQUENCE_INCREMENT = 50;
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final long RETRY_MIN_BACKOFF_MILLIS = 100;
+
+    private PokemonRepository pokemonRepository;
+    private RatingService ratingService;
+    private ReviewSearchService reviewSearchService;
+    private JdbcTemplate jdbcTemplate;
+    private ResponseCache responseCache;
+    private TransactionTemplate transactionTemplate;
+    private ReviewIdAllocator idAllocator;
+
+    private final boolean enabled;
+    private final int flushSize;
+    private final long flushIntervalNanos;
+    private final long shutdownTimeoutMillis;
+    private final long retryMaxBackoffMillis;
+    private final BlockingQueue<PendingReview> queue;
+    // Only touched by the writer thread, and by stop() once the writer has ended.
+    private final Deque<PendingReview> retries = new ArrayDeque<>();
+    // Held while checking accepting and offering, and while stop() clears accepting, so no review can be
+    // queued after the writer's last look at the queue.
+    private final Object acceptLock = new Object();
+
+    private final DistributionSummary batchSize;
+    private final Timer flushTimer;
+    private final Timer waitTimer;
+    private final Counter droppedCounter;
+    private final Counter retriedCounter;
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public ReviewWriteBehindServiceImpl(PokemonRepository pokemonRepository, RatingService ratingService,
+                                        ReviewSearchService reviewSearchService, JdbcTemplate jdbcTemplate,
+                                        TransactionTemplate transactionTemplate, EntityManagerFactory entityManagerFactory,
+                                        ResponseCache responseCache, MeterRegistry meterRegistry,
+                                        @Value("${reviews.write-behind.enabled:false}") boolean enabled,
+                                        @Value("${reviews.write-behind.queue-capacity:10000}") int queueCapacity,
+                                        @Value("${reviews.write-behind.flush-size:500}") int flushSize,
+                                        @Value("${reviews.write-behind.flush-interval-millis:200}") long flushIntervalMillis,
+                                        @Value("${reviews.write-behind.shutdown-timeout-millis:30000}") long shutdownTimeoutMillis,
+                                        @Value("${reviews.write-behind.retry-max-backoff-millis:10000}") long retryMaxBackoffMillis) {
+        this.pokemonRepository = pokemonRepository;
+        this.ratingService = ratingService;
+        this.reviewSearchService = reviewSearchService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.responseCache = responseCache;
+        this.transactionTemplate = transactionTemplate;
+        this.idAllocator = new ReviewIdAllocator(jdbcTemplate, entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceNextValString(REVIEW_SEQUENCE), REVIEW_SEQUENCE_INCREMENT);
+        this.enabled = enabled;
+        this.flushSize = Math.max(1, flushSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.retryMaxBackoffMillis = Math.max(RETRY_MIN_BACKOFF_MILLIS, retryMaxBackoffMillis);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+
+        Gauge.builder("reviews.writebehind.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("reviews.writebehind.batch.size").register(meterRegistry);
+        this.flushTimer = Timer.builder("reviews.writebehind.flush").register(meterRegistry);
+        this.waitTimer = Timer.builder("reviews.writebehind.wait")
+                .description("Time from acceptance until the review was written or dropped")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("reviews.writebehind.dropped").register(meterRegistry);
+        this.retriedCounter = Counter.builder("reviews.writebehind.retried")
+                .description("Reviews put back for another write attempt after a transient failure")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public ReviewDto enqueue(int pokemonId, ReviewDto reviewDto) {
+        if (!accepting) {
+            throw new ServiceBusyException("Review writes are not being accepted", SecurityConstants.BUSY_RETRY_AFTER_SECONDS);
+        }
+        if (!pokemonRepository.existsById(pokemonId)) {
+            throw new PokemonNotFoundException("Pokemon with associated review not found");
+        }
+        ReviewDto accepted = ReviewDto.builder()
+                .id(idAllocator.nextId())
+                .title(reviewDto.getTitle())
+                .content(reviewDto.getContent())
+                .stars(reviewDto.getStars())
+                .build();
+        synchronized (acceptLock) {
+            if (!accepting) {
+                throw new ServiceBusyException("Review writes are not being accepted", SecurityConstants.BUSY_RETRY_AFTER_SECONDS);
+            }
+            if (!queue.offer(new PendingReview(pokemonId, accepted, System.nanoTime()))) {
+                throw new ServiceBusyException("Too many reviews waiting to be written", SecurityConstants.BUSY_RETRY_AFTER_SECONDS);
+            }
+        }
+        return accepted;
+    }
+
+    @Override
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        accepting = true;
+        writer = new Thread(this::drain, "review-write-behind");
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        synchronized (acceptLock) {
+            accepting = false;
+        }
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join(shutdownTimeoutMillis);
+            if (writer.isAlive()) {
+                // Still backing off from a failing database; give up on the rest.
+                writer.interrupt();
+                writer.join(shutdownTimeoutMillis);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("Stopped review write-behind with {} reviews still queued", queue.size());
+        } else {
+            flushRemaining();
+        }
+        writer = null;
+    }
+
+    /**
+     * One last attempt, without backoff, at what the writer did not get to, such as retries it was interrupted
+     * from. Only called once the writer has ended.
+     */
+    private void flushRemaining() {
+        List<PendingReview> remaining = new ArrayList<>(retries);
+        retries.clear();
+        queue.drainTo(remaining);
+        int failed = 0;
+        for (int from = 0; from < remaining.size(); from += flushSize) {
+            List<PendingReview> batch = new ArrayList<>(remaining.subList(from, Math.min(remaining.size(), from + flushSize)));
+            try {
+                failed += flush(batch).size();
+            } catch (RuntimeException ex) {
+                log.error("Could not write {} queued reviews", batch.size(), ex);
+                failed += batch.size();
+            }
+        }
+        if (failed > 0) {
+            droppedCounter.increment(failed);
+            log.warn("Stopped review write-behind with {} reviews that could not be written", failed);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drain() {
+        List<PendingReview> batch = new ArrayList<>(flushSize);
+        long backoffMillis = 0;
+        while (running || !queue.isEmpty() || !retries.isEmpty()) {
+            try {
+                if (backoffMillis > 0) {
+                    Thread.sleep(backoffMillis);
+                }
+                if (retries.isEmpty()) {
+                    PendingReview first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    long deadline = first.acceptedNanos + flushIntervalNanos;
+                    while (batch.size() < flushSize && running) {
+                        long remaining = deadline - System.nanoTime();
+                        PendingReview next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                        queue.drainTo(batch, flushSize - batch.size());
+                    }
+                } else {
+                    while (batch.size() < flushSize && !retries.isEmpty()) {
+                        batch.add(retries.poll());
+                    }
+                }
+                queue.drainTo(batch, flushSize - batch.size());
+                List<PendingReview> failed = flush(batch);
+                if (failed.isEmpty()) {
+                    backoffMillis = 0;
+                } else {
+                    retries.addAll(failed);
+                    retriedCounter.increment(failed.size());
+                    backoffMillis = Math.min(retryMaxBackoffMillis, Math.max(RETRY_MIN_BACKOFF_MILLIS, backoffMillis * 2));
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Could not write {} queued reviews", batch.size(), ex);
+                droppedCounter.increment(batch.size());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes the batch and returns the reviews that failed for reasons other than their own content.
+     */
+    private List<PendingReview> flush(List<PendingReview> batch) {
+        long start = System.nanoTime();
+        List<PendingReview> failed = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+        } catch (DataIntegrityViolationException ex) {
+            // Typically a Pokemon deleted between the existence check and the insert; retry row by row.
+            log.warn("Batched review insert failed, retrying {} reviews one by one", batch.size(), ex);
+            for (PendingReview review : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(Collections.singletonList(review)));
+                } catch (DataIntegrityViolationException rowEx) {
+                    log.warn("Dropped review {} of Pokemon {}", review.review.getId(), review.pokemonId, rowEx);
+                    droppedCounter.increment();
+                } catch (DataAccessException | TransactionException rowEx) {
+                    failed.add(review);
+                }
+            }
+        } catch (DataAccessException | TransactionException ex) {
+            log.warn("Could not write {} queued reviews, retrying them later", batch.size(), ex);
+            failed.addAll(batch);
+        }
+        long end = System.nanoTime();
+        flushTimer.record(end - start, TimeUnit.NANOSECONDS);
+        batchSize.record(batch.size());
+        for (PendingReview review : batch) {
+            if (!failed.contains(review)) {
+                waitTimer.record(end - review.acceptedNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        return failed;
+    }
+
+    private void insert(List<PendingReview> batch) {
+        Set<Integer> existing = new HashSet<>(pokemonRepository.findExistingIds(
+                batch.stream().map(review -> review.pokemonId).collect(Collectors.toSet())));
+        List<PendingReview> rows = new ArrayList<>(batch.size());
+        for (PendingReview review : batch) {
+            if (existing.contains(review.pokemonId)) {
+                rows.add(review);
+            } else {
+                log.warn("Dropped review {}: Pokemon {} could not be found", review.review.getId(), review.pokemonId);
+                droppedCounter.increment();
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder("insert into review (id, title, content, stars, version, pokemon_id) values ");
+        Object[] args = new Object[rows.size() * 5];
+        Map<Integer, RatingDelta> deltas = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            PendingReview row = rows.get(i);
+            sql.append(i == 0 ? "(?, ?, ?, ?, 0, ?)" : ", (?, ?, ?, ?, 0, ?)");
+            args[i * 5] = row.review.getId();
+            args[i * 5 + 1] = row.review.getTitle();
+            args[i * 5 + 2] = row.review.getContent();
+            args[i * 5 + 3] = row.review.getStars();
+            args[i * 5 + 4] = row.pokemonId;
+            deltas.computeIfAbsent(row.pokemonId, id -> new RatingDelta()).add(row.review.getStars());
+        }
+        jdbcTemplate.update(sql.toString(), args);
+
+        deltas.forEach(ratingService::applyDelta);
+        AfterCommit.run(() -> deltas.keySet().forEach(responseCache::invalidateReviews));
+        for (PendingReview row : rows) {
+            reviewSearchService.indexReview(row.review.getId(), row.pokemonId, row.review.getTitle(), row.review.getContent());
+        }
+    }
+
+    private static class PendingReview {
+        private final int pokemonId;
+        private final ReviewDto review;
+        private final long acceptedNanos;
+
+        private PendingReview(int pokemonId, ReviewDto review, long acceptedNanos) {
+            this.pokemonId = pokemonId;
+            this.review = review;
+            this.acceptedNanos = acceptedNanos;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.pokemonreview.api.service.impl;
+
+import com.pokemonreview.api.dto.RegisterDto;
+import com.pokemonreview.api.dto.UserImportFailure;
+import com.pokemonreview.api.dto.UserImportResponse;
+import com.pokemonreview.api.models.Role;
+import com.pokemonreview.api.models.UserEntity;
+import com.pokemonreview.api.repository.RoleRepository;
+import com.pokemonreview.api.repository.UserRepository;
+import com.pokemonreview.api.security.BoundedPasswordEncoder;
+import com.pokemonreview.api.service.UserService;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class UserServiceImpl implements UserService {
+    private static final String DEFAULT_ROLE = "USER";
+    private static final String USERNAME_CONSTRAINT = "uk_users_username";
+    private static final String INSERT_USER = "insert into users (username, password) values (?, ?)";
+    private static final String INSERT_USER_ROLE =
+            "insert into user_roles (user_id, role_id) select id, ? from users where username = ?";
+
+    private UserRepository userRepository;
+    private RoleRepository roleRepository;
+    private PasswordEncoder passwordEncoder;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${users.import.batch-size:1000}")
+    private int batchSize = 1000;
+
+    private volatile Integer defaultRoleId;
+
+    @Autowired
+    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder,
+                           JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public boolean register(RegisterDto registerDto) {
+        UserEntity user = new UserEntity();
+        user.setUsername(registerDto.getUsername());
+        user.setPassword(passwordEncoder.encode(registerDto.getPassword()));
+        user.setRoles(Collections.singletonList(roleRepository.getReferenceById(defaultRoleId())));
+
+        try {
+            userRepository.saveAndFlush(user);
+            return true;
+        } catch (DataIntegrityViolationException ex) {
+            if (isUsernameTaken(ex, registerDto.getUsername())) {
+                return false;
+            }
+            throw ex;
+        }
+    }
+
+    private boolean isUsernameTaken(DataIntegrityViolationException ex, String username) {
+        if (ex.getCause() instanceof ConstraintViolationException) {
+            String constraint = ((ConstraintViolationException) ex.getCause()).getConstraintName();
+            // H2 reports the constraint inside a longer description, Postgres reports just its name.
+            if (constraint != null && constraint.toLowerCase(Locale.ROOT).contains(USERNAME_CONSTRAINT)) {
+                return true;
+            }
+        }
+        // Databases created before the constraint was named carry a generated name.
+        return userRepository.existsByUsername(username);
+    }
+
+    @Override
+    public UserImportResponse importUsers(List<RegisterDto> users) {
+        List<UserImportFailure> failures = new ArrayList<>();
+        List<Integer> rows = new ArrayList<>(users.size());
+        Set<String> seen = new HashSet<>();
+
+        for (int row = 0; row < users.size(); row++) {
+            RegisterDto user = users.get(row);
+            if (user == null || !StringUtils.hasText(user.getUsername()) || !StringUtils.hasText(user.getPassword())) {
+                failures.add(new UserImportFailure(row, user == null ? null : user.getUsername(), "Username and password are required"));
+            } else if (!seen.add(user.getUsername())) {
+                failures.add(new UserImportFailure(row, user.getUsername(), "Duplicate username in request"));
+            } else {
+                rows.add(row);
+            }
+        }
+
+        List<String> hashes = hashAll(rows.stream().map(row -> users.get(row).getPassword()).collect(Collectors.toList()));
+        int roleId = defaultRoleId();
+        int imported = 0;
+
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, rows.size());
+            List<Integer> chunkRows = new ArrayList<>();
+            List<Object[]> userArgs = new ArrayList<>();
+            List<Object[]> roleArgs = new ArrayList<>();
+
+            Set<String> existing = findExistingUsernames(rows.subList(from, to).stream()
+                    .map(row -> users.get(row).getUsername()).collect(Collectors.toList()));
+            for (int i = from; i < to; i++) {
+                int row = rows.get(i);
+                String username = users.get(row).getUsername();
+                if (existing.contains(username)) {
+                    failures.add(new UserImportFailure(row, username, "Username is taken"));
+                    continue;
+                }
+                chunkRows.add(row);
+                userArgs.add(new Object[]{username, hashes.get(i)});
+                roleArgs.add(new Object[]{roleId, username});
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(INSERT_USER, userArgs);
+                    jdbcTemplate.batchUpdate(INSERT_USER_ROLE, roleArgs);
+                });
+                imported += chunkRows.size();
+            } catch (DataAccessException ex) {
+                // Lost a race with a concurrent insert: retry this chunk row by row to isolate the failures.
+                for (int i = 0; i < chunkRows.size(); i++) {
+                    Object[] userRow = userArgs.get(i);
+                    Object[] roleRow = roleArgs.get(i);
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            jdbcTemplate.update(INSERT_USER, userRow);
+                            jdbcTemplate.update(INSERT_USER_ROLE, roleRow);
+                        });
+                        imported++;
+                    } catch (DataAccessException rowEx) {
+                        failures.add(new UserImportFailure(chunkRows.get(i), (String) userRow[0], "Could not be inserted"));
+                    }
+                }
+            }
+        }
+
+        failures.sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+        return UserImportResponse.builder()
+                .imported(imported)
+                .failed(failures.size())
+                .failures(failures)
+                .build();
+    }
+
+    private List<String> hashAll(List<String> passwords) {
+        if (passwordEncoder instanceof BoundedPasswordEncoder) {
+            // In parallel on the encoder's own pool, so an import is bounded like every other hash.
+            return ((BoundedPasswordEncoder) passwordEncoder).encodeAll(passwords);
+        }
+        return passwords.stream().map(passwordEncoder::encode).collect(Collectors.toList());
+    }
+
+    private Set<String> findExistingUsernames(List<String> usernames) {
+        if (usernames.isEmpty()) {
+            return Collections.emptySet();
+        }
+        NamedParameterJdbcTemplate namedTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        return new HashSet<>(namedTemplate.queryForList("select username from users where username in (:usernames)",
+                new MapSqlParameterSource("usernames", usernames), String.class));
+    }
+
+    private int defaultRoleId() {
+        Integer roleId = defaultRoleId;
+        if (roleId == null) {
+            Role role = roleRepository.findByName(DEFAULT_ROLE)
+                    .orElseThrow(() -> new IllegalStateException("Role " + DEFAULT_ROLE + " is not configured"));
+            roleId = role.getId();
+            defaultRoleId = roleId;
+        }
+        return roleId;
+    }
+}
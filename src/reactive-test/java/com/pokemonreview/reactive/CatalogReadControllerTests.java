@@ -0,0 +1,150 @@
+package com.pokemonreview.reactive;
+
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.security.JWTGenerator;
+import com.pokemonreview.api.service.impl.KeysetCursor;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+import java.util.List;
+
+@SpringBootTest(properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.r2dbc.url=r2dbc:h2:mem:///catalog;DB_CLOSE_DELAY=-1",
+        "security.jwt.secret=MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWYwMTIzNDU2Nzg5YWJjZGVmMDEyMzQ1Njc4OWFiY2RlZg==",
+        "reactive.fetch-size=2",
+        "api.paging.max-page-size=2"
+})
+@AutoConfigureWebTestClient
+public class CatalogReadControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private DatabaseClient databaseClient;
+    @Autowired
+    private JWTGenerator jwtGenerator;
+
+    private String token;
+
+    @BeforeEach
+    public void init() {
+        Flux.concat(
+                databaseClient.sql("drop table if exists review").then(),
+                databaseClient.sql("drop table if exists pokemon").then(),
+                databaseClient.sql("create table pokemon (id int auto_increment primary key, name varchar(255),"
+                        + " type varchar(255), version int default 0 not null)").then(),
+                databaseClient.sql("create table review (id int primary key, title varchar(255), content varchar(255),"
+                        + " stars int, version int default 0 not null, pokemon_id int references pokemon(id))").then(),
+                databaseClient.sql("insert into pokemon (id, name, type) values (1, 'pikatchu', 'electric'),"
+                        + " (2, 'squirtle', 'water'), (3, 'raichu', 'electric')").then(),
+                databaseClient.sql("insert into review (id, title, content, stars, pokemon_id) values"
+                        + " (10, 'a', 'x', 5, 1), (11, 'b', 'y', 3, 1), (12, 'c', 'z', 4, 2)").then()
+        ).blockLast();
+        token = jwtGenerator.generateToken(new UsernamePasswordAuthenticationToken("ash", null,
+                Collections.singletonList(new SimpleGrantedAuthority("USER"))));
+    }
+
+    @Test
+    public void CatalogReadController_GetPokemon_StreamsFilteredPokemon() {
+        //Act
+        Flux<PokemonDto> body = webTestClient.get().uri("/api/pokemon?type=electric")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(PokemonDto.class)
+                .getResponseBody();
+
+        //Assert
+        StepVerifier.create(body.map(PokemonDto::getName))
+                .expectNext("pikatchu", "raichu")
+                .verifyComplete();
+    }
+
+    @Test
+    public void CatalogReadController_GetPokemon_AppliesLimitAfterCursor() {
+        //Act & Assert
+        webTestClient.get().uri("/api/pokemon?after={after}&limit=1", KeysetCursor.encode(1))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(PokemonDto.class)
+                .value(pokemon -> Assertions.assertThat(pokemon).extracting(PokemonDto::getName).containsExactly("squirtle"));
+    }
+
+    @Test
+    public void CatalogReadController_GetPokemon_CapsLimitAtMaxPageSize() {
+        //Act & Assert
+        webTestClient.get().uri("/api/pokemon?limit=1000")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(PokemonDto.class)
+                .value(pokemon -> Assertions.assertThat(pokemon).extracting(PokemonDto::getName)
+                        .containsExactly("pikatchu", "squirtle"));
+    }
+
+    @Test
+    public void CatalogReadController_GetPokemon_RejectsMalformedCursor() {
+        //Act & Assert
+        webTestClient.get().uri("/api/pokemon?after=not-a-cursor!")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Cursor is malformed");
+    }
+
+    @Test
+    public void CatalogReadController_PokemonDetail_ReturnsNotFound() {
+        //Act & Assert
+        webTestClient.get().uri("/api/pokemon/99")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Pokemon could not be found");
+    }
+
+    @Test
+    public void CatalogReadController_GetReviewsByPokemonId_ReturnsReviewsInIdOrder() {
+        //Act
+        List<ReviewDto> reviews = webTestClient.get().uri("/api/pokemon/1/reviews")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ReviewDto.class)
+                .returnResult()
+                .getResponseBody();
+
+        //Assert
+        Assertions.assertThat(reviews).extracting(ReviewDto::getTitle).containsExactly("a", "b");
+    }
+
+    @Test
+    public void CatalogReadController_GetPokemon_RejectsMissingOrInvalidToken() {
+        //Act & Assert
+        webTestClient.get().uri("/api/pokemon/1").exchange().expectStatus().isUnauthorized();
+        webTestClient.get().uri("/api/pokemon/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token + "x")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+}
@@ -0,0 +1,70 @@
+package com.pokemonreview.reactive;
+
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.exceptions.PokemonNotFoundException;
+import com.pokemonreview.api.service.impl.KeysetCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lists return at most {@code limit} elements, capped at {@code api.paging.max-page-size} like the servlet API,
+ * and resume from the {@code after} cursor in that API's format. Unlike the servlet API they are bare arrays
+ * rather than pages with a {@code nextCursor}, so elements can be written as rows arrive; ask for
+ * {@code application/x-ndjson} to receive them one at a time. The cursor to continue after the last element
+ * received is {@link KeysetCursor#encode} of its id, the same token the servlet API would have returned.
+ */
+@RestController
+@RequestMapping("/api/")
+public class CatalogReadController {
+
+    private final CatalogReadRepository catalogReadRepository;
+    private final int maxPageSize;
+
+    @Autowired
+    public CatalogReadController(CatalogReadRepository catalogReadRepository,
+                                 @Value("${api.paging.max-page-size:100}") int maxPageSize) {
+        this.catalogReadRepository = catalogReadRepository;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @GetMapping(value = "pokemon", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<PokemonDto> getPokemon(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "type", required = false) String type
+    ) {
+        return Flux.defer(() -> catalogReadRepository.findPokemon(type, afterId(after), pageSize(limit)));
+    }
+
+    @GetMapping("pokemon/{id}")
+    public Mono<PokemonDto> pokemonDetail(@PathVariable int id) {
+        return catalogReadRepository.findPokemonById(id)
+                .switchIfEmpty(Mono.error(() -> new PokemonNotFoundException("Pokemon could not be found")));
+    }
+
+    @GetMapping(value = "pokemon/{pokemonId}/reviews", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<ReviewDto> getReviewsByPokemonId(
+            @PathVariable(value = "pokemonId") int pokemonId,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        return Flux.defer(() -> catalogReadRepository.findReviewsByPokemonId(pokemonId, afterId(after), pageSize(limit)));
+    }
+
+    private int pageSize(Integer limit) {
+        return limit == null ? maxPageSize : Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    private static int afterId(String after) {
+        return after == null ? 0 : KeysetCursor.decodeInts(after, 1)[0];
+    }
+}
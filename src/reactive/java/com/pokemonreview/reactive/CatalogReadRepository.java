@@ -0,0 +1,74 @@
+package com.pokemonreview.reactive;
+
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.ReviewDto;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keyset reads over the {@code pokemon} and {@code review} tables. Rows are fetched {@code fetchSize} at a time
+ * as the subscriber requests them, so a slow client holds back the cursor instead of buffering the result.
+ */
+@Repository
+public class CatalogReadRepository {
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    @Autowired
+    public CatalogReadRepository(DatabaseClient databaseClient, @Value("${reactive.fetch-size:500}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Flux<PokemonDto> findPokemon(String type, int afterId, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(type == null
+                        ? "select id, name, type from pokemon where id > :afterId order by id limit :limit"
+                        : "select id, name, type from pokemon where type = :type and id > :afterId order by id limit :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit);
+        if (type != null) {
+            spec = spec.bind("type", type);
+        }
+        return streamed(spec).map((row, metadata) -> mapPokemon(row)).all();
+    }
+
+    public Mono<PokemonDto> findPokemonById(int id) {
+        return databaseClient.sql("select id, name, type from pokemon where id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> mapPokemon(row))
+                .one();
+    }
+
+    public Flux<ReviewDto> findReviewsByPokemonId(int pokemonId, int afterId, int limit) {
+        return streamed(databaseClient.sql("select id, title, content, stars from review"
+                        + " where pokemon_id = :pokemonId and id > :afterId order by id limit :limit")
+                .bind("pokemonId", pokemonId)
+                .bind("afterId", afterId)
+                .bind("limit", limit))
+                .map((row, metadata) -> ReviewDto.builder()
+                        .id(row.get("id", Integer.class))
+                        .title(row.get("title", String.class))
+                        .content(row.get("content", String.class))
+                        .stars(row.get("stars", Integer.class))
+                        .build())
+                .all();
+    }
+
+    private DatabaseClient.GenericExecuteSpec streamed(DatabaseClient.GenericExecuteSpec spec) {
+        return spec.filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)));
+    }
+
+    private PokemonDto mapPokemon(Row row) {
+        return PokemonDto.builder()
+                .id(row.get("id", Integer.class))
+                .name(row.get("name", String.class))
+                .type(row.get("type", String.class))
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.pokemonreview.reactive;
+
+import com.pokemonreview.api.exceptions.ErrorObject;
+import com.pokemonreview.api.exceptions.InvalidCursorException;
+import com.pokemonreview.api.exceptions.PokemonNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Date;
+
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(PokemonNotFoundException.class)
+    public ResponseEntity<ErrorObject> handlePokemonNotFoundException(PokemonNotFoundException ex) {
+
+        ErrorObject errorObject = new ErrorObject();
+
+        errorObject.setStatusCode(HttpStatus.NOT_FOUND.value());
+        errorObject.setMessage(ex.getMessage());
+        errorObject.setTimestamp(new Date());
+
+        return new ResponseEntity<ErrorObject>(errorObject, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorObject> handleInvalidCursorException(InvalidCursorException ex) {
+
+        ErrorObject errorObject = new ErrorObject();
+
+        errorObject.setStatusCode(HttpStatus.BAD_REQUEST.value());
+        errorObject.setMessage(ex.getMessage());
+        errorObject.setTimestamp(new Date());
+
+        return new ResponseEntity<ErrorObject>(errorObject, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,29 @@
+package com.pokemonreview.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Read-only catalog API on WebFlux and R2DBC, built with the reactive profile. It reads the tables the JPA
+ * application owns and verifies tokens issued by it, so both must share {@code security.jwt.secret}.
+ * Configuration comes from {@code reactive.properties}.
+ */
+@SpringBootApplication(exclude = {
+		DataSourceAutoConfiguration.class,
+		DataSourceTransactionManagerAutoConfiguration.class,
+		HibernateJpaAutoConfiguration.class
+})
+public class ReactiveReadApplication {
+
+	public static void main(String[] args) {
+		new SpringApplicationBuilder(ReactiveReadApplication.class)
+				.web(WebApplicationType.REACTIVE)
+				.properties("spring.config.name=reactive")
+				.run(args);
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.pokemonreview.reactive;
+
+import com.pokemonreview.api.security.GrantedAuthorities;
+import com.pokemonreview.api.security.JWTClaimsCache;
+import com.pokemonreview.api.security.JWTGenerator;
+import com.pokemonreview.api.security.SecurityConstants;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.reactive.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Verifies the same HS512 tokens as the servlet application. Authorities always come from the roles claim,
+ * there is no user table lookup on the event loop.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public JWTGenerator jwtGenerator(@Value("${security.jwt.secret:}") String secret,
+                                     @Value("${security.jwt.claims-cache.max-entries:10000}") int maxEntries) {
+        if (secret.isBlank()) {
+            throw new IllegalStateException("security.jwt.secret must be set to the secret of the issuing application");
+        }
+        return new JWTGenerator(new JWTClaimsCache(maxEntries), secret);
+    }
+
+    @Bean
+    public ReactiveAuthenticationManager jwtAuthenticationManager(JWTGenerator jwtGenerator) {
+        return authentication -> Mono.fromCallable(() -> {
+            Claims claims = jwtGenerator.getClaimsFromJWT((String) authentication.getCredentials());
+            List<GrantedAuthority> authorities = authorities(claims);
+            return new UsernamePasswordAuthenticationToken(new User(claims.getSubject(), "", authorities), null, authorities);
+        });
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ReactiveAuthenticationManager jwtAuthenticationManager) {
+        HttpStatusServerEntryPoint entryPoint = new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED);
+        AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(jwtAuthenticationManager);
+        jwtFilter.setServerAuthenticationConverter(exchange -> Mono.justOrEmpty(
+                        exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION))
+                .filter(header -> header.startsWith("Bearer "))
+                .map(header -> new UsernamePasswordAuthenticationToken(null, header.substring(7))));
+        jwtFilter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(entryPoint));
+        jwtFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+
+        return http
+                .csrf().disable()
+                .httpBasic().disable()
+                .formLogin().disable()
+                .logout().disable()
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling().authenticationEntryPoint(entryPoint)
+                .and()
+                .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .authorizeExchange()
+                .matchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .anyExchange().authenticated()
+                .and()
+                .build();
+    }
+
+    private static List<GrantedAuthority> authorities(Claims claims) {
+        Object roles = claims.get(SecurityConstants.JWT_ROLES_CLAIM);
+        if (roles instanceof Collection) {
+            @SuppressWarnings("unchecked")
+            Collection<String> roleNames = (Collection<String>) roles;
+            return GrantedAuthorities.of(roleNames);
+        }
+        return Collections.emptyList();
+    }
+}
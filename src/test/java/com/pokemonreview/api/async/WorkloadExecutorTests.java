@@ -0,0 +1,92 @@
+package com.pokemonreview.api.async;
+
+import com.pokemonreview.api.exceptions.ServiceBusyException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class WorkloadExecutorTests {
+
+    private ScheduledExecutorService timer;
+    private WorkloadExecutor executor;
+    private CountDownLatch release;
+
+    @BeforeEach
+    public void init() {
+        timer = Executors.newSingleThreadScheduledExecutor();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        release.countDown();
+        executor.shutdown();
+        timer.shutdownNow();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void WorkloadExecutor_Supply_RejectsWhenPoolAndQueueAreFull() throws Exception {
+        //Arrange
+        executor = new WorkloadExecutor(Workload.REVIEW, 1, 1, 10_000, timer, 1);
+        executor.supply(this::block);
+        executor.supply(this::block);
+
+        //Act
+        CompletableFuture<String> rejected = executor.supply(() -> "too many");
+
+        //Assert
+        ExecutionException ex = assertThrows(ExecutionException.class, rejected::get);
+        Assertions.assertThat(ex.getCause()).isInstanceOf(ServiceBusyException.class);
+        Assertions.assertThat(executor.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void WorkloadExecutor_Supply_FailsSlowTaskAfterTimeout() throws Exception {
+        //Arrange
+        executor = new WorkloadExecutor(Workload.REVIEW, 1, 1, 50, timer, 1);
+
+        //Act
+        CompletableFuture<String> slow = executor.supply(this::block);
+
+        //Assert
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> slow.get(5, TimeUnit.SECONDS));
+        Assertions.assertThat(ex.getCause()).isInstanceOf(ServiceBusyException.class);
+        Assertions.assertThat(executor.getTimeoutCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void WorkloadExecutor_Supply_RunsOnWorkerWithCallersSecurityContext() throws Exception {
+        //Arrange
+        executor = new WorkloadExecutor(Workload.POKEMON, 1, 1, 10_000, timer, 1);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("ash", null));
+
+        //Act
+        String result = executor.supply(() -> Thread.currentThread().getName() + ":"
+                + SecurityContextHolder.getContext().getAuthentication().getName()).get(5, TimeUnit.SECONDS);
+
+        //Assert
+        Assertions.assertThat(result).isEqualTo("pokemon-worker-1:ash");
+    }
+
+    private String block() {
+        try {
+            release.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+}
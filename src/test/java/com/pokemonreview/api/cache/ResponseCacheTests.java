@@ -0,0 +1,119 @@
+package com.pokemonreview.api.cache;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+public class ResponseCacheTests {
+
+    @Test
+    public void ResponseCache_Put_KeepsTotalBytesWithinBudget() {
+        //Arrange
+        ResponseCache cache = new ResponseCache(true, 4096, 2048, -1, 60000);
+
+        //Act
+        for (int i = 0; i < 10; i++) {
+            cache.put(ResponseCache.pokemon(i), "detail", cache.generation(ResponseCache.pokemon(i)), new byte[1000], null);
+        }
+        cache.put(ResponseCache.POKEMON_PAGES, "page", cache.generation(ResponseCache.POKEMON_PAGES), new byte[4000], null);
+
+        //Assert
+        Assertions.assertThat(cache.getTotalBytes()).isLessThanOrEqualTo(4096);
+        Assertions.assertThat(cache.get(ResponseCache.pokemon(9), "detail")).isNotNull();
+        Assertions.assertThat(cache.get(ResponseCache.pokemon(0), "detail")).isNull();
+        Assertions.assertThat(cache.get(ResponseCache.POKEMON_PAGES, "page")).isNull();
+    }
+
+    @Test
+    public void ResponseCache_Put_IgnoresResultLoadedBeforeInvalidation() {
+        //Arrange
+        ResponseCache cache = new ResponseCache(true, 4096, 2048, -1, 60000);
+        long loadedAt = cache.generation(ResponseCache.reviews(1));
+
+        //Act
+        cache.invalidateReviews(1);
+        CachedResponse served = cache.put(ResponseCache.reviews(1), "page", loadedAt, new byte[10], null);
+
+        //Assert
+        Assertions.assertThat(served.getJson()).hasSize(10);
+        Assertions.assertThat(cache.get(ResponseCache.reviews(1), "page")).isNull();
+        Assertions.assertThat(cache.getTotalBytes()).isZero();
+    }
+
+    @Test
+    public void ResponseCache_InvalidateReviews_DropsOnlyThatPokemonsLists() {
+        //Arrange
+        ResponseCache cache = new ResponseCache(true, 4096, 2048, -1, 60000);
+        cache.put(ResponseCache.reviews(1), "first", cache.generation(ResponseCache.reviews(1)), new byte[10], null);
+        cache.put(ResponseCache.reviews(1), "second", cache.generation(ResponseCache.reviews(1)), new byte[10], null);
+        cache.put(ResponseCache.reviews(2), "first", cache.generation(ResponseCache.reviews(2)), new byte[10], null);
+        cache.put(ResponseCache.pokemon(1), "detail", cache.generation(ResponseCache.pokemon(1)), new byte[10], "\"0\"");
+
+        //Act
+        cache.invalidateReviews(1);
+
+        //Assert
+        Assertions.assertThat(cache.get(ResponseCache.reviews(1), "first")).isNull();
+        Assertions.assertThat(cache.get(ResponseCache.reviews(1), "second")).isNull();
+        Assertions.assertThat(cache.get(ResponseCache.reviews(2), "first")).isNotNull();
+        Assertions.assertThat(cache.get(ResponseCache.pokemon(1), "detail").getETag()).isEqualTo("\"0\"");
+        Assertions.assertThat(cache.getEntryCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void ResponseCache_Put_StoresGzipCopyOfLargeBodies() throws IOException {
+        //Arrange
+        ResponseCache cache = new ResponseCache(true, 1 << 20, 1 << 16, 1024, 60000);
+        byte[] json = new byte[4000];
+        Arrays.fill(json, (byte) 'a');
+
+        //Act
+        CachedResponse large = cache.put(ResponseCache.POKEMON_PAGES, "large", cache.generation(ResponseCache.POKEMON_PAGES), json, null);
+        CachedResponse small = cache.put(ResponseCache.POKEMON_PAGES, "small", cache.generation(ResponseCache.POKEMON_PAGES), new byte[100], null);
+
+        //Assert
+        Assertions.assertThat(large.getGzip().length).isLessThan(json.length);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(large.getGzip()))) {
+            Assertions.assertThat(gzip.readAllBytes()).isEqualTo(json);
+        }
+        Assertions.assertThat(small.getGzip()).isNull();
+    }
+
+    @Test
+    public void ResponseCache_Put_StoresResultLoadedBeforeInvalidationOfAnotherGroup() {
+        //Arrange
+        ResponseCache cache = new ResponseCache(true, 4096, 2048, -1, 60000);
+        long loadedAt = cache.generation(ResponseCache.reviews(1));
+
+        //Act
+        cache.invalidateReviews(2);
+        cache.invalidatePokemon(1);
+        cache.put(ResponseCache.reviews(1), "page", loadedAt, new byte[10], null);
+
+        //Assert
+        Assertions.assertThat(cache.get(ResponseCache.reviews(1), "page")).isNotNull();
+        cache.clear();
+        Assertions.assertThat(cache.generation(ResponseCache.reviews(1))).isNotEqualTo(loadedAt);
+    }
+
+    @Test
+    public void ResponseCache_Wrap_CompressesOnlyWhenAsked() {
+        //Arrange
+        ResponseCache cache = new ResponseCache(true, 1 << 20, 1 << 16, 1024, 60000);
+        byte[] json = new byte[4000];
+        Arrays.fill(json, (byte) 'a');
+
+        //Act
+        CachedResponse wrapped = cache.wrap(json, null);
+        boolean compressedBeforeUse = wrapped.isCompressed();
+        byte[] gzip = wrapped.getGzip();
+
+        //Assert
+        Assertions.assertThat(compressedBeforeUse).isFalse();
+        Assertions.assertThat(gzip.length).isLessThan(json.length);
+    }
+}
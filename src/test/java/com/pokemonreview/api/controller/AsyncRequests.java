@@ -0,0 +1,26 @@
+package com.pokemonreview.api.controller;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+/**
+ * Controller handlers complete on workload executors; this performs the request, waits for the handler and
+ * dispatches the result so the usual matchers apply.
+ */
+final class AsyncRequests {
+
+    private AsyncRequests() {
+    }
+
+    static ResultActions performAsync(MockMvc mockMvc, RequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request)
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+}
@@ -0,0 +1,105 @@
+package com.pokemonreview.api.controller;
+
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.Review;
+import com.pokemonreview.api.repository.PokemonRatingRepository;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.RatingService;
+import com.pokemonreview.api.sql.SqlBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static com.pokemonreview.api.controller.AsyncRequests.performAsync;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+public class EndpointSqlBudgetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private RatingService ratingService;
+    @Autowired
+    private PokemonRepository pokemonRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private PokemonRatingRepository ratingRepository;
+
+    private Pokemon pokemon;
+
+    @BeforeEach
+    public void init() {
+        pokemon = pokemonRepository.save(Pokemon.builder().name("pikachu").type("electric").build());
+        pokemonRepository.save(Pokemon.builder().name("squirtle").type("water").build());
+        pokemonRepository.save(Pokemon.builder().name("bulbasaur").type("grass").build());
+        ratingService.createRating(pokemon.getId());
+        reviewRepository.save(Review.builder().title("a").content("a").stars(5).pokemon(pokemon).build());
+        reviewRepository.save(Review.builder().title("b").content("b").stars(4).pokemon(pokemon).build());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        reviewRepository.deleteAllInBatch();
+        ratingRepository.deleteAllInBatch();
+        pokemonRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @SqlBudget(selects = 2)
+    public void PokemonController_GetPokemons_StaysWithinSqlBudget() throws Exception {
+        performAsync(mockMvc, get("/api/pokemon").param("pageSize", "2"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    @Test
+    @SqlBudget(selects = 1)
+    public void PokemonController_GetPokemonsByType_StaysWithinSqlBudget() throws Exception {
+        performAsync(mockMvc, get("/api/pokemon").param("type", "electric").param("pageSize", "2"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    @Test
+    @SqlBudget
+    public void PokemonController_GetPokemonTypes_StaysWithinSqlBudget() throws Exception {
+        performAsync(mockMvc, get("/api/pokemon/types"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    @Test
+    @SqlBudget(selects = 1)
+    public void PokemonController_PokemonDetail_StaysWithinSqlBudget() throws Exception {
+        performAsync(mockMvc, get("/api/pokemon/" + pokemon.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    @Test
+    @SqlBudget(selects = 1)
+    public void PokemonController_PokemonDetailNotModified_StaysWithinSqlBudget() throws Exception {
+        performAsync(mockMvc, get("/api/pokemon/" + pokemon.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+    }
+
+    @Test
+    @SqlBudget(selects = 1)
+    public void ReviewController_GetReviewsByPokemonId_StaysWithinSqlBudget() throws Exception {
+        performAsync(mockMvc, get("/api/pokemon/" + pokemon.getId() + "/reviews"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    @Test
+    @SqlBudget(selects = 1)
+    public void RatingController_GetRating_StaysWithinSqlBudget() throws Exception {
+        mockMvc.perform(get("/api/pokemon/" + pokemon.getId() + "/rating"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+}
@@ -0,0 +1,62 @@
+package com.pokemonreview.api.controller;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcMetricsFilter;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static com.pokemonreview.api.controller.AsyncRequests.performAsync;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Scrapes the Prometheus endpoint with only the request-metrics filter in place, so security does not get in
+ * the way of checking what is exported.
+ */
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=prometheus",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMetrics
+public class MetricsEndpointTests {
+
+    @Autowired
+    private WebApplicationContext context;
+    @Autowired
+    private FilterRegistrationBean<WebMvcMetricsFilter> metricsFilter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void init() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).addFilters(metricsFilter.getFilter()).build();
+    }
+
+    @Test
+    public void Prometheus_Scrape_ExposesRouteRepositoryHibernateAndPoolMetrics() throws Exception {
+        //Arrange
+        performAsync(mockMvc, get("/api/pokemon").param("pageSize", "2"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        //Act
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        //Assert
+        Assertions.assertThat(scrape)
+                .contains("http_server_requests_seconds_count{")
+                .contains("uri=\"/api/pokemon\"")
+                .contains("spring_data_repository_invocations_seconds_count{")
+                .contains("repository=\"PokemonRepository\"")
+                .contains("hibernate_statements_total")
+                .contains("hikaricp_connections_acquire_seconds_count");
+    }
+}
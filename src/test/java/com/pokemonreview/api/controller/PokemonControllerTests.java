@@ -1,38 +1,55 @@
 package com.pokemonreview.api.controller;
 
+import com.pokemonreview.api.async.WorkloadExecutors;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokemonreview.api.cache.ResponseCache;
 import com.pokemonreview.api.controllers.PokemonController;
 import com.pokemonreview.api.dto.PokemonDto;
 import com.pokemonreview.api.dto.PokemonResponse;
 import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.exceptions.PreconditionFailedException;
 import com.pokemonreview.api.models.Pokemon;
 import com.pokemonreview.api.models.Review;
 import com.pokemonreview.api.service.PokemonService;
+import org.assertj.core.api.Assertions;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
+import static com.pokemonreview.api.controller.AsyncRequests.performAsync;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 
 @WebMvcTest(controllers = PokemonController.class)
 @AutoConfigureMockMvc(addFilters = false)
+@Import({WorkloadExecutors.class, ResponseCache.class})
 @ExtendWith(MockitoExtension.class)
 public class PokemonControllerTests {
 
@@ -45,6 +62,9 @@ public class PokemonControllerTests {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ResponseCache responseCache;
+
     private Pokemon pokemon;
     private Review review;
     private ReviewDto reviewDto;
@@ -52,6 +72,7 @@ public class PokemonControllerTests {
 
     @BeforeEach
     public void init(){
+        responseCache.clear();
         pokemon = Pokemon.builder().id(1).name("pikatchu").type("electric").build();
         pokemonDto = PokemonDto.builder().id(1).name("pikatchu").type("electric").build();
         review = Review.builder().id(1).title("title").content("content").stars(5).build();
@@ -78,7 +99,7 @@ public class PokemonControllerTests {
         PokemonResponse responseDto = PokemonResponse.builder().pageSize(10).last(true).pageNo(1).content(Arrays.asList(pokemonDto)).build();
         when(pokemonService.getAllPokemon(1,10)).thenReturn(responseDto);
 
-        ResultActions response = mockMvc.perform(get("/api/pokemon")
+        ResultActions response = performAsync(mockMvc, get("/api/pokemon")
                 .contentType(MediaType.APPLICATION_JSON)
                 .param("pageNo", "1")
                 .param("pageSize", "10"));
@@ -89,9 +110,102 @@ public class PokemonControllerTests {
     }
 
     @Test
-    public void PokemonController_GetPokemonDetail_ReturnPokemonDto(){
+    public void PokemonController_GetPokemonDetail_ReturnPokemonDto() throws Exception{
         when(pokemonService.getPokemonById(pokemon.getId())).thenReturn(pokemonDto);
 
-        ResultActions response = mockMvc.perform(get("/api/pokemon/"))
+        ResultActions response = performAsync(mockMvc, get("/api/pokemon/" + pokemon.getId())
+                .contentType(MediaType.APPLICATION_JSON));
+
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.name", CoreMatchers.is(pokemonDto.getName())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.type", CoreMatchers.is(pokemonDto.getType())));
+    }
+
+    @Test
+    public void PokemonController_GetPokemonDetail_ServesCachedBytesUntilInvalidated() throws Exception{
+        when(pokemonService.getPokemonById(pokemon.getId())).thenReturn(pokemonDto);
+
+        performAsync(mockMvc, get("/api/pokemon/" + pokemon.getId()));
+        ResultActions cached = performAsync(mockMvc, get("/api/pokemon/" + pokemon.getId()));
+        ResultActions notModified = performAsync(mockMvc, get("/api/pokemon/" + pokemon.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\""));
+        responseCache.invalidatePokemon(pokemon.getId());
+        performAsync(mockMvc, get("/api/pokemon/" + pokemon.getId()));
+
+        cached.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.name", CoreMatchers.is(pokemonDto.getName())));
+        notModified.andExpect(MockMvcResultMatchers.status().isNotModified());
+        verify(pokemonService, Mockito.times(2)).getPokemonById(pokemon.getId());
+        verify(pokemonService, never()).getPokemonVersion(Mockito.anyInt());
+    }
+
+    @Test
+    public void PokemonController_GetAllPokemon_ReturnsGzipCopyWhenAccepted() throws Exception{
+        List<PokemonDto> content = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            content.add(PokemonDto.builder().id(i).name("pikatchu" + i).type("electric").build());
+        }
+        PokemonResponse responseDto = PokemonResponse.builder().pageSize(100).last(true).pageNo(0).content(content).build();
+        when(pokemonService.getAllPokemon(0, 100)).thenReturn(responseDto);
+
+        ResultActions response = performAsync(mockMvc, get("/api/pokemon")
+                .param("pageSize", "100")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+
+        byte[] body = response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            Assertions.assertThat(objectMapper.readValue(gzip, PokemonResponse.class)).isEqualTo(responseDto);
+        }
+    }
+
+    @Test
+    public void PokemonController_GetPokemonDetail_TagsGzipBodySeparately() throws Exception{
+        PokemonDto large = PokemonDto.builder().id(1).name("pikatchu".repeat(200)).type("electric").version(3).build();
+        when(pokemonService.getPokemonById(pokemon.getId())).thenReturn(large);
+
+        ResultActions gzip = performAsync(mockMvc, get("/api/pokemon/" + pokemon.getId())
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        ResultActions identity = performAsync(mockMvc, get("/api/pokemon/" + pokemon.getId()));
+        ResultActions notModified = performAsync(mockMvc, get("/api/pokemon/" + pokemon.getId())
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3-gzip\""));
+
+        gzip.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3-gzip\""));
+        identity.andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3\""));
+        notModified.andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3-gzip\""));
+    }
+
+    @Test
+    public void PokemonController_GetPokemonDetail_ReturnsNotModifiedForCurrentETag() throws Exception{
+        when(pokemonService.getPokemonVersion(pokemon.getId())).thenReturn(Optional.of(3));
+
+        ResultActions response = performAsync(mockMvc, get("/api/pokemon/" + pokemon.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+
+        response.andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        verify(pokemonService, never()).getPokemonById(Mockito.anyInt());
+    }
+
+    @Test
+    public void PokemonController_UpdatePokemon_ReturnsPreconditionFailedForStaleIfMatch() throws Exception{
+        when(pokemonService.updatePokemon(ArgumentMatchers.any(), ArgumentMatchers.eq(pokemon.getId()), ArgumentMatchers.eq(2)))
+                .thenThrow(new PreconditionFailedException("Pokemon was modified since it was read"));
+
+        ResultActions response = mockMvc.perform(put("/api/pokemon/" + pokemon.getId() + "/update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .content(objectMapper.writeValueAsString(pokemonDto)));
+
+        response.andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
     }
 }
@@ -1,16 +1,52 @@
 package com.pokemonreview.api.controller;
 
+import com.pokemonreview.api.async.WorkloadExecutors;
+import com.pokemonreview.api.cache.ResponseCache;
+import com.pokemonreview.api.controllers.ReviewController;
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewField;
+import com.pokemonreview.api.dto.ReviewQuery;
+import com.pokemonreview.api.dto.ReviewResponse;
+import com.pokemonreview.api.dto.ReviewSort;
+import com.pokemonreview.api.exceptions.PreconditionFailedException;
+import com.pokemonreview.api.service.ReviewExportService;
+import com.pokemonreview.api.service.ReviewIngestService;
+import com.pokemonreview.api.service.ReviewSearchService;
 import com.pokemonreview.api.service.ReviewService;
+import com.pokemonreview.api.service.ReviewWriteBehindService;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
-@WebMvcTest(controllers = ReviewControllerTests.class)
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Optional;
+
+import static com.pokemonreview.api.controller.AsyncRequests.performAsync;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+@WebMvcTest(controllers = ReviewController.class)
 @AutoConfigureMockMvc(addFilters = false)
+@Import({WorkloadExecutors.class, ResponseCache.class})
 @ExtendWith(MockitoExtension.class)
 public class ReviewControllerTests {
     @Autowired
@@ -18,5 +54,125 @@ public class ReviewControllerTests {
 
     @MockBean
     private ReviewService reviewService;
-    //TODO: work on the dependency injection
+    @MockBean
+    private ReviewExportService reviewExportService;
+    @MockBean
+    private ReviewIngestService reviewIngestService;
+    @MockBean
+    private ReviewSearchService reviewSearchService;
+    @MockBean
+    private ReviewWriteBehindService reviewWriteBehindService;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @BeforeEach
+    public void init() {
+        responseCache.clear();
+    }
+
+    @Test
+    public void ReviewController_CreateReview_ReturnsAcceptedWhenWriteBehindIsEnabled() throws Exception {
+        //Arrange
+        ReviewDto accepted = ReviewDto.builder().id(51).title("title").content("content").stars(5).build();
+        when(reviewWriteBehindService.isEnabled()).thenReturn(true);
+        when(reviewWriteBehindService.enqueue(ArgumentMatchers.eq(1), ArgumentMatchers.any(ReviewDto.class))).thenReturn(accepted);
+
+        //Act
+        ResultActions response = mockMvc.perform(post("/api/pokemon/1/reviews")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"title\",\"content\":\"content\",\"stars\":5}"));
+
+        //Assert
+        response.andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.header().string("Location", "/api/pokemon/1/reviews/51"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id", CoreMatchers.is(51)));
+    }
+
+    @Test
+    public void ReviewController_GetReviewsByPokemonId_ReturnsPageWithCursor() throws Exception {
+        //Arrange
+        ReviewDto reviewDto = ReviewDto.builder().id(7).title("title").content("content").stars(5).build();
+        ReviewResponse reviewResponse = ReviewResponse.builder()
+                .content(Arrays.asList(reviewDto)).pageSize(1).last(false).nextCursor("next").build();
+        when(reviewService.getReviewsByPokemonId(ArgumentMatchers.eq(1), ArgumentMatchers.eq(
+                ReviewQuery.builder().pageSize(1).after("abc").sort(ReviewSort.STARS).build()))).thenReturn(reviewResponse);
+
+        //Act
+        ResultActions response = performAsync(mockMvc, get("/api/pokemon/1/reviews")
+                .param("limit", "1")
+                .param("after", "abc")
+                .param("sort", "stars"));
+
+        //Assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", CoreMatchers.is("next")));
+    }
+
+    @Test
+    public void ReviewController_GetReviewsByPokemonId_WritesOnlyRequestedFields() throws Exception {
+        //Arrange
+        ReviewDto reviewDto = ReviewDto.builder().id(7).stars(5).build();
+        ReviewResponse reviewResponse = ReviewResponse.builder()
+                .content(Arrays.asList(reviewDto)).pageSize(20).last(true).build();
+        when(reviewService.getReviewsByPokemonId(ArgumentMatchers.eq(1), ArgumentMatchers.eq(ReviewQuery.builder()
+                .pageSize(20).fields(EnumSet.of(ReviewField.ID, ReviewField.STARS)).build()))).thenReturn(reviewResponse);
+
+        //Act
+        ResultActions response = performAsync(mockMvc, get("/api/pokemon/1/reviews").param("fields", "id, Stars"));
+
+        //Assert
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id", CoreMatchers.is(7)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].stars", CoreMatchers.is(5)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].title").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].content").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.last", CoreMatchers.is(true)));
+    }
+
+    @Test
+    public void ReviewController_GetReviewsByPokemonId_RejectsUnknownField() throws Exception {
+        mockMvc.perform(get("/api/pokemon/1/reviews").param("fields", "id,author"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", CoreMatchers.is("Unknown field 'author'")));
+    }
+
+    @Test
+    public void ReviewController_GetReviewById_ReturnsNotModifiedForCurrentETag() throws Exception {
+        //Arrange
+        when(reviewService.getReviewVersion(7, 1)).thenReturn(Optional.of(3));
+
+        //Act
+        ResultActions response = performAsync(mockMvc, get("/api/pokemon/1/reviews/7")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+
+        //Assert
+        response.andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        verify(reviewService, never()).getReviewById(Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @Test
+    public void ReviewController_UpdateReview_ReturnsPreconditionFailedForStaleIfMatch() throws Exception {
+        //Arrange
+        when(reviewService.updateReview(ArgumentMatchers.eq(1), ArgumentMatchers.eq(7), ArgumentMatchers.any(ReviewDto.class),
+                ArgumentMatchers.eq(2))).thenThrow(new PreconditionFailedException("Review was modified since it was read"));
+
+        //Act
+        ResultActions response = mockMvc.perform(put("/api/pokemon/1/reviews/7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .content("{\"title\":\"title\",\"content\":\"content\",\"stars\":5}"));
+
+        //Assert
+        response.andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
+    @Test
+    public void ReviewController_GetReviewsByPokemonId_RejectsUnknownSort() throws Exception {
+        mockMvc.perform(get("/api/pokemon/1/reviews").param("sort", "loudest"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
 }
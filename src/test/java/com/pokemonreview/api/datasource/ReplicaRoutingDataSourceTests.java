@@ -0,0 +1,146 @@
+package com.pokemonreview.api.datasource;
+
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.exceptions.PokemonNotFoundException;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.service.PokemonService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "api.datasource.replica-urls=" + ReplicaRoutingDataSourceTests.REPLICA_URL,
+        "api.datasource.health-check-interval-millis=0",
+        "api.datasource.read-your-writes-millis=60000"
+})
+public class ReplicaRoutingDataSourceTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+    private static final int REPLICA_ONLY_ID = 1000;
+    private static final AtomicBoolean replicaHealthy = new AtomicBoolean(true);
+
+    @TestConfiguration
+    static class HealthCheckConfig {
+        @Bean
+        ReplicaHealthCheck switchableHealthCheck() {
+            return (name, replica) -> replicaHealthy.get();
+        }
+    }
+
+    @Autowired
+    private PokemonService pokemonService;
+    @Autowired
+    private PokemonRepository pokemonRepository;
+    @Autowired
+    private ReplicaPool replicaPool;
+
+    @BeforeEach
+    public void init() {
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.execute("create table if not exists pokemon (id int primary key, name varchar(255), type varchar(255),"
+                + " version int default 0 not null)");
+        replica.update("delete from pokemon");
+        replica.update("insert into pokemon (id, name, type) values (?, 'replica-only', 'ghost')", REPLICA_ONLY_ID);
+        replicaHealthy.set(true);
+        replicaPool.refresh();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void ReplicaRouting_ReadOnlyServiceCall_ReadsFromReplica() {
+        //Act
+        PokemonDto pokemon = pokemonService.getPokemonById(REPLICA_ONLY_ID);
+
+        //Assert
+        Assertions.assertThat(pokemon.getName()).isEqualTo("replica-only");
+        Assertions.assertThat(pokemonRepository.findById(REPLICA_ONLY_ID)).isEmpty();
+    }
+
+    @Test
+    public void ReplicaRouting_ReadAfterWrite_StaysOnPrimaryForWriterOnly() {
+        //Arrange
+        authenticate("ash");
+        PokemonDto created = pokemonService.createPokemon(PokemonDto.builder().name("pikatchu").type("electric").build());
+
+        //Act
+        PokemonDto readByWriter = pokemonService.getPokemonById(created.getId());
+        authenticate("misty");
+
+        //Assert
+        Assertions.assertThat(readByWriter.getName()).isEqualTo("pikatchu");
+        assertThrows(PokemonNotFoundException.class, () -> pokemonService.getPokemonById(created.getId()));
+    }
+
+    @Test
+    public void ReplicaRouting_ReplicaReads_ReportsOnlyReadsRoutedToReplica() {
+        //Arrange
+        authenticate("brock");
+        PokemonDto created = pokemonService.createPokemon(PokemonDto.builder().name("onix").type("rock").build());
+
+        //Act
+        ReplicaReads.begin();
+        pokemonService.getPokemonById(created.getId());
+        boolean pinnedReadFromReplica = ReplicaReads.end();
+        SecurityContextHolder.clearContext();
+        ReplicaReads.begin();
+        pokemonService.getPokemonById(REPLICA_ONLY_ID);
+        boolean anonymousReadFromReplica = ReplicaReads.end();
+
+        //Assert
+        Assertions.assertThat(pinnedReadFromReplica).isFalse();
+        Assertions.assertThat(anonymousReadFromReplica).isTrue();
+    }
+
+    @Test
+    public void ReplicaRouting_VersionLookup_DoesNotPinClientToPrimary() {
+        //Arrange
+        authenticate("gary");
+
+        //Act
+        pokemonService.getPokemonVersion(REPLICA_ONLY_ID);
+        ReplicaReads.begin();
+        PokemonDto pokemon = pokemonService.getPokemonById(REPLICA_ONLY_ID);
+        boolean readFromReplica = ReplicaReads.end();
+
+        //Assert
+        Assertions.assertThat(readFromReplica).isTrue();
+        Assertions.assertThat(pokemon.getName()).isEqualTo("replica-only");
+    }
+
+    @Test
+    public void ReplicaRouting_UnhealthyReplica_FallsBackToPrimary() {
+        //Arrange
+        PokemonDto created = pokemonService.createPokemon(PokemonDto.builder().name("snorlax").type("normal").build());
+        replicaHealthy.set(false);
+
+        //Act
+        replicaPool.refresh();
+
+        //Assert
+        Assertions.assertThat(replicaPool.next()).isNull();
+        Assertions.assertThat(pokemonService.getPokemonById(created.getId()).getName()).isEqualTo("snorlax");
+        assertThrows(PokemonNotFoundException.class, () -> pokemonService.getPokemonById(REPLICA_ONLY_ID));
+    }
+
+    private void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(username, null));
+    }
+}
@@ -1,6 +1,8 @@
 package com.pokemonreview.api.repository;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.PokemonField;
 import com.pokemonreview.api.models.Pokemon;
 import org.assertj.core.api.Assertions;
 import org.junit.Assert;
@@ -9,8 +11,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.parameters.P;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -158,4 +163,36 @@ public class PokemonRepositoryTests {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void PokemonRepository_CountByType_CountsEachType(){
+        //Arrange
+        pokemonRepository.save(Pokemon.builder().name("pikatchu").type("electric").build());
+        pokemonRepository.save(Pokemon.builder().name("snorlax").type("normal").build());
+        pokemonRepository.save(Pokemon.builder().name("raichu").type("electric").build());
+
+        //Act
+        List<Object[]> counts = pokemonRepository.countByType();
+
+        //Assert
+        Assertions.assertThat(counts).extracting(row -> row[0] + "=" + row[1]).containsExactlyInAnyOrder("electric=2", "normal=1");
+    }
+
+    @Test
+    public void PokemonRepository_FindProjected_SelectsOnlyRequestedFields(){
+        //Arrange
+        Pokemon pokemon1 = pokemonRepository.save(Pokemon.builder().name("pikatchu").type("electric").build());
+        pokemonRepository.save(Pokemon.builder().name("snorlax").type("normal").build());
+        Pokemon pokemon3 = pokemonRepository.save(Pokemon.builder().name("raichu").type("electric").build());
+        pokemonRepository.save(Pokemon.builder().name("pichu").type("electric").build());
+
+        //Act
+        Slice<PokemonDto> slice = pokemonRepository.findProjected("electric", pokemon1.getId(),
+                EnumSet.of(PokemonField.NAME), PageRequest.of(0, 1));
+
+        //Assert
+        Assertions.assertThat(slice.getContent()).extracting(PokemonDto::getId, PokemonDto::getName, PokemonDto::getType)
+                .containsExactly(Assertions.tuple(pokemon3.getId(), "raichu", null));
+        Assertions.assertThat(slice.hasNext()).isTrue();
+    }
+
+}
@@ -1,5 +1,8 @@
 package com.pokemonreview.api.repository;
 
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewField;
+import com.pokemonreview.api.dto.ReviewSort;
 import com.pokemonreview.api.models.Pokemon;
 import com.pokemonreview.api.models.Review;
 import org.assertj.core.api.Assertions;
@@ -8,7 +11,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,10 +23,12 @@ import java.util.Optional;
 @AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
 public class ReviewRepositoryTests {
     private ReviewRepository reviewRepository;
+    private TestEntityManager entityManager;
 
     @Autowired
-    public ReviewRepositoryTests(ReviewRepository reviewRepository) {
+    public ReviewRepositoryTests(ReviewRepository reviewRepository, TestEntityManager entityManager) {
         this.reviewRepository = reviewRepository;
+        this.entityManager = entityManager;
     }
 
     @Test
@@ -155,4 +164,29 @@ public class ReviewRepositoryTests {
         Assertions.assertThat(reviewReturn).isEmpty();
 
     }
+
+    @Test
+    public void ReviewRepository_FindProjected_SelectsOnlyRequestedFieldsInStarsOrder(){
+
+        //Arrange (Three reviews for one pokemon and one for another)
+        Pokemon pokemon = Pokemon.builder().name("pikachu").type("electric").build();
+        Pokemon other = Pokemon.builder().name("squirtle").type("water").build();
+        entityManager.persist(pokemon);
+        entityManager.persist(other);
+        Review first = reviewRepository.save(Review.builder().title("first").content("a").stars(4).pokemon(pokemon).build());
+        Review second = reviewRepository.save(Review.builder().title("second").content("b").stars(5).pokemon(pokemon).build());
+        reviewRepository.save(Review.builder().title("third").content("c").stars(2).pokemon(pokemon).build());
+        reviewRepository.save(Review.builder().title("other").content("d").stars(5).pokemon(other).build());
+
+        //Act (First page of two by stars, asking for titles only)
+        Slice<ReviewDto> page = reviewRepository.findProjected(pokemon.getId(), ReviewSort.STARS, Integer.MAX_VALUE,
+                Integer.MAX_VALUE, EnumSet.of(ReviewField.TITLE), PageRequest.of(0, 2));
+
+        //Assert (Stars are still selected for the cursor, content is not)
+        Assertions.assertThat(page.getContent()).extracting(ReviewDto::getId, ReviewDto::getTitle, ReviewDto::getStars, ReviewDto::getContent)
+                .containsExactly(Assertions.tuple(second.getId(), "second", 5, null), Assertions.tuple(first.getId(), "first", 4, null));
+
+        Assertions.assertThat(page.hasNext()).isTrue();
+
+    }
 }
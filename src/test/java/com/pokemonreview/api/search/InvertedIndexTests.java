@@ -0,0 +1,71 @@
+package com.pokemonreview.api.search;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class InvertedIndexTests {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    public void init() {
+        index = new InvertedIndex();
+        index.add(InvertedIndex.analyze(1, 10, "Electric mouse", "Pikachu is a cute electric mouse"));
+        index.add(InvertedIndex.analyze(2, 10, "Shocking", "Mouse pads are not electric, but this pikachu is"));
+        index.add(InvertedIndex.analyze(3, 20, "Water turtle", "Squirtle squirts water at everything"));
+    }
+
+    @Test
+    public void InvertedIndex_SearchTerm_RanksHigherTermFrequencyFirst() {
+        //Act
+        List<ScoredDoc> hits = index.search("electric", 10);
+
+        //Assert
+        Assertions.assertThat(hits).extracting(ScoredDoc::getDocId).containsExactly(1, 2);
+        Assertions.assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+    }
+
+    @Test
+    public void InvertedIndex_SearchPhrase_MatchesOnlyAdjacentTerms() {
+        //Act
+        List<ScoredDoc> hits = index.search("\"electric mouse\"", 10);
+
+        //Assert
+        Assertions.assertThat(hits).extracting(ScoredDoc::getDocId).containsExactly(1);
+    }
+
+    @Test
+    public void InvertedIndex_SearchPhrase_DoesNotSpanFields() {
+        //Act
+        List<ScoredDoc> hits = index.search("\"turtle squirtle\"", 10);
+
+        //Assert
+        Assertions.assertThat(hits).isEmpty();
+    }
+
+    @Test
+    public void InvertedIndex_RemoveAndRemoveGroup_DropDocumentsFromResults() {
+        //Act
+        index.remove(1);
+        List<ScoredDoc> afterRemove = index.search("pikachu", 10);
+        index.removeGroup(10);
+
+        //Assert
+        Assertions.assertThat(afterRemove).extracting(ScoredDoc::getDocId).containsExactly(2);
+        Assertions.assertThat(index.search("pikachu", 10)).isEmpty();
+        Assertions.assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void InvertedIndex_Add_ReplacesExistingDocument() {
+        //Act
+        index.add(InvertedIndex.analyze(3, 20, "Fire lizard", "Charmander"));
+
+        //Assert
+        Assertions.assertThat(index.search("water", 10)).isEmpty();
+        Assertions.assertThat(index.search("charmander", 10)).extracting(ScoredDoc::getDocId).containsExactly(3);
+    }
+}
@@ -0,0 +1,101 @@
+package com.pokemonreview.api.security;
+
+import com.pokemonreview.api.exceptions.ServiceBusyException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class BoundedPasswordEncoderTests {
+
+    @Test
+    public void BoundedPasswordEncoder_EncodeAndMatches_DelegatesAndRecordsTiming() {
+        //Arrange
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, 5000, 1);
+
+        //Act
+        String encoded = encoder.encode("secret");
+        boolean matches = encoder.matches("secret", encoded);
+
+        //Assert
+        Assertions.assertThat(matches).isTrue();
+        Assertions.assertThat(encoder.getHashCount()).isEqualTo(2);
+        Assertions.assertThat(encoder.getTotalHashNanos()).isGreaterThan(0);
+        Assertions.assertThat(encoder.getMaxHashNanos()).isGreaterThan(0);
+        encoder.shutdown();
+    }
+
+    @Test
+    public void BoundedPasswordEncoder_EncodeAll_EncodesInOrderWithinQueueCapacity() {
+        //Arrange (a batch larger than pool and queue together)
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 1, 5000, 1);
+        List<String> passwords = Arrays.asList("a", "b", "c", "d", "e", "f");
+
+        //Act
+        List<String> encoded = encoder.encodeAll(passwords);
+
+        //Assert
+        Assertions.assertThat(encoded).hasSize(6);
+        for (int i = 0; i < passwords.size(); i++) {
+            Assertions.assertThat(encoder.matches(passwords.get(i), encoded.get(i))).isTrue();
+        }
+        Assertions.assertThat(encoder.getRejectedCount()).isZero();
+        encoder.shutdown();
+    }
+
+    @Test
+    public void BoundedPasswordEncoder_Encode_RejectsWhenSaturated() throws Exception {
+        //Arrange (one worker and one queue slot, both held by a blocked delegate)
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, 5000, 3);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        while (encoder.getQueueSize() == 0) {
+            Thread.onSpinWait();
+        }
+
+        //Act & Assert
+        Assertions.assertThatThrownBy(() -> encoder.encode("c"))
+                .isInstanceOf(ServiceBusyException.class)
+                .extracting(ex -> ((ServiceBusyException) ex).getRetryAfterSeconds())
+                .isEqualTo(3);
+        Assertions.assertThat(encoder.getRejectedCount()).isEqualTo(1);
+
+        release.countDown();
+        Assertions.assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("a");
+        Assertions.assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("b");
+        encoder.shutdown();
+    }
+
+    @Test
+    public void BCryptStrengthCalibrator_Calibrate_ReturnsStrengthWithinBounds() {
+        int strength = BCryptStrengthCalibrator.calibrate(1, 4, 6);
+
+        Assertions.assertThat(strength).isBetween(4, 6);
+    }
+}
@@ -0,0 +1,168 @@
+package com.pokemonreview.api.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JWTAuthenticationFilterTests {
+
+    private JWTGenerator jwtGenerator;
+    private CustomUserDetailsService userDetailsService;
+    private SimpleMeterRegistry meterRegistry;
+    private JWTAuthenticationFilter filter;
+
+    @BeforeEach
+    public void init() {
+        jwtGenerator = new JWTGenerator(new JWTClaimsCache(100));
+        userDetailsService = Mockito.mock(CustomUserDetailsService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new JWTAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "tokenGenerator", jwtGenerator);
+        ReflectionTestUtils.setField(filter, "customUserDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(filter, "rateLimiter", new RateLimiter(true, 100, 2, 0.01, 60, 20, 120, 50));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void JWTAuthenticationFilter_DoFilter_TimesVerificationAndUserLookup() throws Exception {
+        //Arrange
+        String token = jwtGenerator.generateToken(new UsernamePasswordAuthenticationToken("ash", null,
+                Collections.singletonList(new SimpleGrantedAuthority("USER"))));
+        Mockito.when(userDetailsService.loadUserByUsername("ash"))
+                .thenReturn(new User("ash", "", Collections.singletonList(new SimpleGrantedAuthority("USER"))));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+
+        //Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        //Assert
+        Assertions.assertThat(meterRegistry.get("security.jwt.verification").tag("outcome", "success").timer().count())
+                .isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get("security.jwt.user.lookup").tags("source", "database", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void JWTAuthenticationFilter_DoFilter_RejectsLoginBurstPerIp() throws Exception {
+        //Arrange
+        MockHttpServletResponse[] responses = new MockHttpServletResponse[3];
+
+        //Act
+        for (int i = 0; i < responses.length; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+            request.setRemoteAddr("10.0.0.1");
+            responses[i] = new MockHttpServletResponse();
+            filter.doFilter(request, responses[i], new MockFilterChain());
+        }
+        MockHttpServletRequest otherClient = new MockHttpServletRequest("POST", "/api/auth/login");
+        otherClient.setRemoteAddr("10.0.0.2");
+        MockHttpServletResponse otherResponse = new MockHttpServletResponse();
+        filter.doFilter(otherClient, otherResponse, new MockFilterChain());
+
+        //Assert
+        Assertions.assertThat(responses[0].getStatus()).isEqualTo(200);
+        Assertions.assertThat(responses[1].getHeader("RateLimit-Remaining")).isEqualTo("0");
+        Assertions.assertThat(responses[2].getStatus()).isEqualTo(429);
+        Assertions.assertThat(responses[2].getHeader("Retry-After")).isNotNull();
+        Assertions.assertThat(otherResponse.getStatus()).isEqualTo(200);
+        Assertions.assertThat(meterRegistry.get("security.rate.limit.rejected").tag("group", "auth").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void JWTAuthenticationFilter_DoFilter_LimitsReviewsPerSubject() throws Exception {
+        //Arrange
+        ReflectionTestUtils.setField(filter, "rateLimiter", new RateLimiter(true, 100, 10, 1, 1, 0.01, 120, 50));
+        String token = jwtGenerator.generateToken(new UsernamePasswordAuthenticationToken("ash", null));
+        Mockito.when(userDetailsService.loadUserByUsername("ash"))
+                .thenReturn(new User("ash", "", Collections.singletonList(new SimpleGrantedAuthority("USER"))));
+
+        //Act
+        MockHttpServletResponse first = filterWithToken("/api/pokemon/1/reviews", token);
+        MockHttpServletResponse second = filterWithToken("/api/pokemon/1/reviews", token);
+        MockHttpServletResponse otherGroup = filterWithToken("/api/pokemon/1", token);
+
+        //Assert
+        Assertions.assertThat(first.getStatus()).isEqualTo(200);
+        Assertions.assertThat(second.getStatus()).isEqualTo(429);
+        Assertions.assertThat(otherGroup.getStatus()).isEqualTo(200);
+        Mockito.verify(userDetailsService, Mockito.times(2)).loadUserByUsername("ash");
+    }
+
+    @Test
+    public void JWTAuthenticationFilter_DoFilter_LimitsBasicAuthAndInvalidTokensPerIp() throws Exception {
+        //Arrange
+        ReflectionTestUtils.setField(filter, "rateLimiter", new RateLimiter(true, 100, 10, 1, 2, 0.01, 120, 50));
+        MockHttpServletRequest basic = new MockHttpServletRequest("GET", "/api/pokemon/1/reviews");
+        basic.setRemoteAddr("10.0.0.1");
+        basic.addHeader("Authorization", "Basic YXNoOnBpa2FjaHU=");
+        MockHttpServletRequest invalidToken = new MockHttpServletRequest("GET", "/api/pokemon/1/reviews");
+        invalidToken.setRemoteAddr("10.0.0.1");
+        invalidToken.addHeader("Authorization", "Bearer not-a-token");
+        MockHttpServletRequest limited = new MockHttpServletRequest("GET", "/api/pokemon/1/reviews");
+        limited.setRemoteAddr("10.0.0.1");
+        limited.addHeader("Authorization", "Basic YXNoOnBpa2FjaHU=");
+        MockHttpServletResponse basicResponse = new MockHttpServletResponse();
+        MockHttpServletResponse limitedResponse = new MockHttpServletResponse();
+        MockFilterChain limitedChain = new MockFilterChain();
+
+        //Act
+        filter.doFilter(basic, basicResponse, new MockFilterChain());
+        assertThrows(AuthenticationCredentialsNotFoundException.class,
+                () -> filter.doFilter(invalidToken, new MockHttpServletResponse(), new MockFilterChain()));
+        filter.doFilter(limited, limitedResponse, limitedChain);
+
+        //Assert
+        Assertions.assertThat(basicResponse.getStatus()).isEqualTo(200);
+        Assertions.assertThat(basicResponse.getHeader("RateLimit-Remaining")).isEqualTo("1");
+        Assertions.assertThat(limitedResponse.getStatus()).isEqualTo(429);
+        Assertions.assertThat(limitedChain.getRequest()).isNull();
+    }
+
+    @Test
+    public void JWTAuthenticationFilter_DoFilter_TimesFailedVerification() {
+        //Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer not-a-token");
+
+        //Act
+        assertThrows(AuthenticationCredentialsNotFoundException.class,
+                () -> filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain()));
+
+        //Assert
+        Assertions.assertThat(meterRegistry.get("security.jwt.verification").tag("outcome", "failure").timer().count())
+                .isEqualTo(1);
+        Assertions.assertThat(meterRegistry.find("security.jwt.user.lookup").timer()).isNull();
+    }
+
+    private MockHttpServletResponse filterWithToken(String path, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+}
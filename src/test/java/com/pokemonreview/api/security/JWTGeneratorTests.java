@@ -0,0 +1,128 @@
+package com.pokemonreview.api.security;
+
+import io.jsonwebtoken.Claims;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+public class JWTGeneratorTests {
+
+    private JWTClaimsCache claimsCache;
+    private JWTGenerator jwtGenerator;
+
+    @BeforeEach
+    public void init() {
+        claimsCache = new JWTClaimsCache(100);
+        jwtGenerator = new JWTGenerator(claimsCache);
+    }
+
+    @Test
+    public void JWTGenerator_GetClaimsFromJWT_ReturnsSubject() {
+        //Arrange
+        String token = jwtGenerator.generateToken(new UsernamePasswordAuthenticationToken("ash", null));
+
+        //Act
+        Claims claims = jwtGenerator.getClaimsFromJWT(token);
+
+        //Assert
+        Assertions.assertThat(claims.getSubject()).isEqualTo("ash");
+        Assertions.assertThat(claims.getExpiration()).isNotNull();
+    }
+
+    @Test
+    public void JWTGenerator_GenerateToken_EmbedsRoles() {
+        //Arrange
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken("ash", null,
+                GrantedAuthorities.of(Arrays.asList("USER", "ADMIN")));
+
+        //Act
+        Claims claims = jwtGenerator.getClaimsFromJWT(jwtGenerator.generateToken(authentication));
+
+        //Assert
+        Assertions.assertThat(claims.get(SecurityConstants.JWT_ROLES_CLAIM, List.class)).containsExactly("USER", "ADMIN");
+        Assertions.assertThat(GrantedAuthorities.of("USER")).isSameAs(authentication.getAuthorities().iterator().next());
+    }
+
+    @Test
+    public void JWTGenerator_GetClaimsFromJWT_SecondCallIsCacheHit() {
+        //Arrange
+        String token = jwtGenerator.generateToken(new UsernamePasswordAuthenticationToken("ash", null));
+
+        //Act
+        Claims first = jwtGenerator.getClaimsFromJWT(token);
+        boolean valid = jwtGenerator.validateToken(token);
+        String username = jwtGenerator.getUsernameFromJWT(token);
+
+        //Assert
+        Assertions.assertThat(valid).isTrue();
+        Assertions.assertThat(username).isEqualTo(first.getSubject());
+        Assertions.assertThat(claimsCache.getMissCount()).isEqualTo(1);
+        Assertions.assertThat(claimsCache.getHitCount()).isEqualTo(2);
+        Assertions.assertThat(claimsCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void JWTGenerator_GetClaimsFromJWT_InvalidTokenThrowsAndIsNotCached() {
+        //Arrange
+        String token = jwtGenerator.generateToken(new UsernamePasswordAuthenticationToken("ash", null));
+        int i = token.lastIndexOf('.') + 5;
+        String tampered = token.substring(0, i) + (token.charAt(i) == 'A' ? 'B' : 'A') + token.substring(i + 1);
+
+        //Act & Assert
+        Assertions.assertThatThrownBy(() -> jwtGenerator.getClaimsFromJWT(tampered))
+                .isInstanceOf(AuthenticationCredentialsNotFoundException.class);
+        Assertions.assertThat(claimsCache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void JWTGenerator_GetClaimsFromJWT_AcceptsTokenFromGeneratorWithSameSecret() {
+        //Arrange
+        byte[] bytes = new byte[64];
+        new SecureRandom().nextBytes(bytes);
+        String secret = Base64.getEncoder().encodeToString(bytes);
+        JWTGenerator issuer = new JWTGenerator(new JWTClaimsCache(100), secret);
+        JWTGenerator verifier = new JWTGenerator(new JWTClaimsCache(100), secret);
+        String token = issuer.generateToken(new UsernamePasswordAuthenticationToken("ash", null));
+
+        //Act
+        Claims claims = verifier.getClaimsFromJWT(token);
+
+        //Assert
+        Assertions.assertThat(claims.getSubject()).isEqualTo("ash");
+        Assertions.assertThatThrownBy(() -> jwtGenerator.getClaimsFromJWT(token))
+                .isInstanceOf(AuthenticationCredentialsNotFoundException.class);
+    }
+
+    @Test
+    public void JWTGenerator_Constructor_RejectsShortSecret() {
+        //Arrange
+        String secret = Base64.getEncoder().encodeToString(new byte[32]);
+
+        //Act & Assert
+        Assertions.assertThatThrownBy(() -> new JWTGenerator(claimsCache, secret))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void JWTClaimsCache_Put_EvictsWhenFull() {
+        //Arrange
+        JWTClaimsCache smallCache = new JWTClaimsCache(10);
+        JWTGenerator generator = new JWTGenerator(smallCache);
+
+        //Act
+        for (int i = 0; i < 25; i++) {
+            generator.getClaimsFromJWT(generator.generateToken(new UsernamePasswordAuthenticationToken("user" + i, null)));
+        }
+
+        //Assert
+        Assertions.assertThat(smallCache.size()).isLessThanOrEqualTo(10);
+        Assertions.assertThat(smallCache.getEvictionCount()).isGreaterThan(0);
+    }
+}
@@ -0,0 +1,93 @@
+package com.pokemonreview.api.security;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TokenBucketTests {
+
+    @Test
+    public void TokenBucket_TryConsume_RefillsAtConfiguredRate() {
+        //Arrange
+        TokenBucket bucket = new TokenBucket(2, 0.5, 0);
+
+        //Act
+        long first = bucket.tryConsume(0);
+        long second = bucket.tryConsume(0);
+        long rejected = bucket.tryConsume(0);
+        long stillRejected = bucket.tryConsume(1999);
+        long refilled = bucket.tryConsume(2000);
+
+        //Assert
+        Assertions.assertThat(first).isEqualTo(1000);
+        Assertions.assertThat(second).isEqualTo(0);
+        Assertions.assertThat(rejected).isEqualTo(-1000);
+        Assertions.assertThat(bucket.millisToRefill(-rejected)).isEqualTo(2000);
+        Assertions.assertThat(stillRejected).isLessThan(0);
+        Assertions.assertThat(refilled).isEqualTo(0);
+    }
+
+    @Test
+    public void TokenBucket_TryConsume_KeepsSlowRefillAcrossFrequentCalls() {
+        //Arrange
+        TokenBucket bucket = new TokenBucket(1, 0.0005, 0);
+        bucket.tryConsume(0);
+
+        //Act
+        for (long now = 0; now < 2_000_000; now += 1000) {
+            bucket.tryConsume(now);
+        }
+
+        //Assert
+        Assertions.assertThat(bucket.tryConsume(2_000_000)).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    public void TokenBucket_TryConsume_NeverHandsOutMoreThanCapacityConcurrently() throws Exception {
+        //Arrange
+        TokenBucket bucket = new TokenBucket(1000, 0.001, 0);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        //Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    if (bucket.tryConsume(0) >= 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        //Assert
+        Assertions.assertThat(granted.get()).isEqualTo(1000);
+    }
+
+    @Test
+    public void RateLimiter_TryAcquire_EvictsIdleBucketsWhenFull() throws Exception {
+        //Arrange
+        RateLimiter rateLimiter = new RateLimiter(true, 10, 1, 1000, 1, 1000, 1, 1000);
+
+        //Act
+        for (int i = 0; i < 50; i++) {
+            rateLimiter.tryAcquire(RateLimitGroup.DEFAULT, "user" + i);
+            Thread.sleep(1);
+        }
+
+        //Assert
+        Assertions.assertThat(rateLimiter.size()).isLessThanOrEqualTo(10);
+    }
+}
@@ -0,0 +1,137 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.cache.ResponseCache;
+import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.PokemonQuery;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.Review;
+import com.pokemonreview.api.repository.PokemonRatingRepository;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.impl.PokemonServiceImpl;
+import com.pokemonreview.api.service.impl.RatingServiceImpl;
+import com.pokemonreview.api.service.impl.ReviewSearchServiceImpl;
+import com.pokemonreview.api.sql.SqlBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Statement budgets for every {@link PokemonService} method. Tests run without a surrounding transaction
+ * so each call commits and flushes exactly what it would in production.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import({PokemonServiceImpl.class, RatingServiceImpl.class, ReviewSearchServiceImpl.class, ResponseCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PokemonServiceSqlBudgetTests {
+
+    @Autowired
+    private PokemonService pokemonService;
+    @Autowired
+    private RatingService ratingService;
+    @Autowired
+    private PokemonRepository pokemonRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private PokemonRatingRepository ratingRepository;
+
+    private Pokemon pokemon;
+
+    @BeforeEach
+    public void init() {
+        pokemon = pokemonRepository.save(Pokemon.builder().name("pikachu").type("electric").build());
+        pokemonRepository.save(Pokemon.builder().name("squirtle").type("water").build());
+        pokemonRepository.save(Pokemon.builder().name("bulbasaur").type("grass").build());
+        ratingService.createRating(pokemon.getId());
+        reviewRepository.save(Review.builder().title("a").content("a").stars(5).pokemon(pokemon).build());
+        reviewRepository.save(Review.builder().title("b").content("b").stars(4).pokemon(pokemon).build());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        reviewRepository.deleteAllInBatch();
+        ratingRepository.deleteAllInBatch();
+        pokemonRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @SqlBudget(inserts = 2)
+    public void PokemonService_CreatePokemon_StaysWithinSqlBudget() {
+        pokemonService.createPokemon(PokemonDto.builder().name("charmander").type("fire").build());
+    }
+
+    @Test
+    @SqlBudget(selects = 2)
+    public void PokemonService_GetAllPokemon_StaysWithinSqlBudget() {
+        pokemonService.getAllPokemon(0, 2);
+    }
+
+    @Test
+    @SqlBudget(selects = 1)
+    public void PokemonService_GetAllPokemonWithoutCount_StaysWithinSqlBudget() {
+        pokemonService.getAllPokemon(PokemonQuery.builder().pageSize(2).withCount(false).build());
+    }
+
+    @Test
+    @SqlBudget(selects = 1)
+    public void PokemonService_GetAllPokemonKeyset_StaysWithinSqlBudget() {
+        pokemonService.getAllPokemon(PokemonQuery.builder().pageSize(2).keyset(true).build());
+    }
+
+    @Test
+    @SqlBudget(selects = 1)
+    public void PokemonService_GetAllPokemonByType_StaysWithinSqlBudget() {
+        pokemonService.getAllPokemon(PokemonQuery.builder().pageSize(2).type("electric").build());
+    }
+
+    @Test
+    @SqlBudget
+    public void PokemonService_GetTypeCounts_StaysWithinSqlBudget() {
+        pokemonService.getTypeCounts();
+    }
+
+    @Test
+    @SqlBudget(selects = 1)
+    public void PokemonService_GetPokemonById_StaysWithinSqlBudget() {
+        pokemonService.getPokemonById(pokemon.getId());
+    }
+
+    @Test
+    @SqlBudget(selects = 1)
+    public void PokemonService_GetPokemonVersion_StaysWithinSqlBudget() {
+        pokemonService.getPokemonVersion(pokemon.getId());
+    }
+
+    @Test
+    @SqlBudget(selects = 1, updates = 1)
+    public void PokemonService_UpdatePokemon_StaysWithinSqlBudget() {
+        pokemonService.updatePokemon(PokemonDto.builder().name("raichu").type("electric").build(), pokemon.getId());
+    }
+
+    @Test
+    @SqlBudget(selects = 2, deletes = 3)
+    public void PokemonService_DeletePokemonId_StaysWithinSqlBudget() {
+        pokemonService.deletePokemonId(pokemon.getId());
+    }
+
+    @Test
+    @SqlBudget(selects = 4, deletes = 5)
+    public void PokemonService_DeletePokemonIdInChunks_StaysWithinSqlBudget() {
+        ReflectionTestUtils.setField(pokemonService, "deleteChunkSize", 1);
+        try {
+            pokemonService.deletePokemonId(pokemon.getId());
+        } finally {
+            ReflectionTestUtils.setField(pokemonService, "deleteChunkSize", 10000);
+        }
+    }
+}
@@ -1,23 +1,44 @@
 package com.pokemonreview.api.service;
 
+import com.pokemonreview.api.cache.ResponseCache;
 import com.pokemonreview.api.dto.PokemonDto;
+import com.pokemonreview.api.dto.PokemonQuery;
 import com.pokemonreview.api.dto.PokemonResponse;
+import com.pokemonreview.api.exceptions.InvalidCursorException;
+import com.pokemonreview.api.exceptions.PokemonNotFoundException;
 import com.pokemonreview.api.models.Pokemon;
 import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
 import com.pokemonreview.api.service.impl.PokemonServiceImpl;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +47,21 @@ public class PokemonServiceTests {
     @Mock
     private PokemonRepository pokemonRepository;
 
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private RatingService ratingService;
+
+    @Mock
+    private ReviewSearchService reviewSearchService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ResponseCache responseCache;
+
     @InjectMocks
     private PokemonServiceImpl pokemonService;
 
@@ -49,12 +85,54 @@ public class PokemonServiceTests {
     }
 
     @Test
-    public void PokemonService_GetAllPokemon_ReturnsResponseDto(){
-        //Creates a mock Page<Pokemon> object to simulate the database response
-        Page<Pokemon> pokemons = Mockito.mock(Page.class);
+    public void PokemonService_CreateUpdateDeletePokemon_MaintainsTypeCounts(){
+        //Arrange
+        Pokemon pokemon = Pokemon.builder().id(1).name("pikatchu").type("electric").build();
+        runTransactionsInline();
+        when(pokemonRepository.save(Mockito.any(Pokemon.class))).thenReturn(pokemon);
+        when(pokemonRepository.findById(1)).thenReturn(Optional.of(pokemon));
+        when(pokemonRepository.findTypeById(1)).thenReturn(Optional.of("water"));
+        when(pokemonRepository.deletePokemonById(1)).thenReturn(1);
+        when(reviewRepository.findIdsByPokemonIdAfter(Mockito.eq(1), Mockito.anyInt(), Mockito.any(Pageable.class))).thenReturn(Collections.emptyList());
 
-        //Configures the mocked pokemonRepository to return the mocked Page<Pokemon> when findAll is called with any Pageable argument
-        when(pokemonRepository.findAll(Mockito.any(Pageable.class))).thenReturn(pokemons);
+        //Act
+        pokemonService.createPokemon(PokemonDto.builder().name("pikatchu").type("electric").build());
+        pokemonService.createPokemon(PokemonDto.builder().name("raichu").type("electric").build());
+        Map<String, Long> afterCreate = pokemonService.getTypeCounts();
+        pokemonService.updatePokemon(PokemonDto.builder().name("pikatchu").type("water").build(), 1);
+        Map<String, Long> afterUpdate = pokemonService.getTypeCounts();
+        pokemonService.deletePokemonId(1);
+
+        //Assert
+        Assertions.assertThat(afterCreate).containsOnly(Map.entry("electric", 2L));
+        Assertions.assertThat(afterUpdate).containsOnly(Map.entry("electric", 1L), Map.entry("water", 1L));
+        Assertions.assertThat(pokemonService.getTypeCounts()).containsOnly(Map.entry("electric", 1L));
+    }
+
+    @Test
+    public void PokemonService_GetAllPokemonByType_UsesPrecomputedCount(){
+        //Arrange
+        PokemonDto pokemon = PokemonDto.builder().id(1).name("pikatchu").type("electric").build();
+        when(pokemonRepository.countByType()).thenReturn(Collections.singletonList(new Object[]{"electric", 3L}));
+        when(pokemonRepository.findProjected(Mockito.eq("electric"), Mockito.eq(0), Mockito.anySet(), Mockito.any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(pokemon), PageRequest.of(0, 1), true));
+        pokemonService.loadTypeCounts();
+
+        //Act
+        PokemonResponse response = pokemonService.getAllPokemon(PokemonQuery.builder().pageSize(1).type("electric").build());
+
+        //Assert
+        Assertions.assertThat(response.getContent()).hasSize(1);
+        Assertions.assertThat(response.getTotalElements()).isEqualTo(3);
+        Assertions.assertThat(response.getTotalPages()).isEqualTo(3);
+        verify(pokemonRepository, never()).count();
+    }
+
+    @Test
+    public void PokemonService_GetAllPokemon_ReturnsResponseDto(){
+        //Configures the mocked pokemonRepository to return an empty slice of projected rows for any page
+        when(pokemonRepository.findProjected(Mockito.isNull(), Mockito.eq(0), Mockito.anySet(), Mockito.any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>(), PageRequest.of(1, 10), false));
 
         PokemonResponse savedPokemon = pokemonService.getAllPokemon(1,10);
 
@@ -63,6 +141,58 @@ public class PokemonServiceTests {
 
     }
 
+    @Test
+    public void PokemonService_GetAllPokemonKeyset_ReturnsNextCursorWithoutCount(){
+        PokemonDto pokemon1 = PokemonDto.builder().id(1).name("pikatchu").type("electric").build();
+        PokemonDto pokemon2 = PokemonDto.builder().id(2).name("snorlax").type("normal").build();
+        PokemonDto pokemon3 = PokemonDto.builder().id(3).name("onix").type("rock").build();
+
+        when(pokemonRepository.findProjected(Mockito.isNull(), Mockito.eq(0), Mockito.anySet(), Mockito.any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Arrays.asList(pokemon1, pokemon2), PageRequest.of(0, 2), true));
+        when(pokemonRepository.findProjected(Mockito.isNull(), Mockito.eq(2), Mockito.anySet(), Mockito.any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Arrays.asList(pokemon3), PageRequest.of(0, 2), false));
+
+        PokemonResponse firstPage = pokemonService.getAllPokemon(PokemonQuery.builder().pageSize(2).keyset(true).build());
+        PokemonResponse secondPage = pokemonService.getAllPokemon(PokemonQuery.builder().pageSize(2).keyset(true)
+                .after(firstPage.getNextCursor()).build());
+
+        Assertions.assertThat(firstPage.getContent()).hasSize(2);
+        Assertions.assertThat(firstPage.getNextCursor()).isNotNull();
+        Assertions.assertThat(firstPage.getTotalElements()).isNull();
+        Assertions.assertThat(secondPage.getContent()).extracting(PokemonDto::getName).containsExactly("onix");
+        Assertions.assertThat(secondPage.getNextCursor()).isNull();
+        Assertions.assertThat(secondPage.isLast()).isTrue();
+    }
+
+    @Test
+    public void PokemonService_GetAllPokemon_CapsPageSize(){
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        when(pokemonRepository.findProjected(Mockito.isNull(), Mockito.eq(0), Mockito.anySet(), pageable.capture()))
+                .thenReturn(new SliceImpl<>(new ArrayList<>(), PageRequest.of(0, 100), false));
+
+        pokemonService.getAllPokemon(0, 100000);
+
+        Assertions.assertThat(pageable.getValue().getPageSize()).isEqualTo(100);
+    }
+
+    @Test
+    public void PokemonService_GetAllPokemonKeyset_RejectsMalformedCursor(){
+        Assertions.assertThatThrownBy(() -> pokemonService.getAllPokemon(PokemonQuery.builder().pageSize(2).keyset(true)
+                        .after("not a cursor").build()))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    public void PokemonService_GetAllPokemonKeyset_RejectsCursorOutsideIntRange(){
+        // -2^32 + 5 would wrap around to id 5
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("-4294967291".getBytes(StandardCharsets.US_ASCII));
+
+        Assertions.assertThatThrownBy(() -> pokemonService.getAllPokemon(PokemonQuery.builder().pageSize(2).keyset(true)
+                        .after(cursor).build()))
+                .isInstanceOf(InvalidCursorException.class);
+        verify(pokemonRepository, never()).findProjected(Mockito.any(), Mockito.anyInt(), Mockito.any(), Mockito.any());
+    }
+
     @Test
     public void PokemonService_GetPokemonById_ReturnsPokemonDto(){
         Pokemon pokemon = Pokemon.builder().id(1).name("pikatchu").type("electric").build();
@@ -93,8 +223,59 @@ public class PokemonServiceTests {
     public void PokemonService_DeletePokemonById_ReturnsNothing(){
         Pokemon pokemon = Pokemon.builder().id(1).name("pikatchu").type("electric").build();
 
-        when(pokemonRepository.findById(Mockito.any(Integer.class))).thenReturn(Optional.ofNullable(pokemon));
+        runTransactionsInline();
+        ReflectionTestUtils.setField(pokemonService, "deleteChunkSize", 2);
+        when(pokemonRepository.findTypeById(pokemon.getId())).thenReturn(Optional.of(pokemon.getType()));
+        when(reviewRepository.findIdsByPokemonIdAfter(Mockito.eq(pokemon.getId()), Mockito.anyInt(), Mockito.any(Pageable.class)))
+                .thenReturn(Arrays.asList(10, 5000), Arrays.asList(5001, 9000), Arrays.asList(9001));
+        when(pokemonRepository.deletePokemonById(pokemon.getId())).thenReturn(1);
 
         assertAll(() -> pokemonService.deletePokemonId(1));
+        verify(reviewRepository).findIdsByPokemonIdAfter(Mockito.eq(pokemon.getId()), Mockito.eq(5000), Mockito.any(Pageable.class));
+        verify(reviewRepository).findIdsByPokemonIdAfter(Mockito.eq(pokemon.getId()), Mockito.eq(9000), Mockito.any(Pageable.class));
+        verify(reviewRepository).deleteByPokemonIdUpTo(pokemon.getId(), 5000);
+        verify(reviewRepository).deleteByPokemonIdUpTo(pokemon.getId(), 9000);
+        verify(reviewRepository).deleteAllByPokemonId(pokemon.getId());
+        verify(ratingService).deleteRating(pokemon.getId());
+        verify(reviewSearchService).removeReview(5001);
+        verify(responseCache, Mockito.times(3)).invalidateReviews(pokemon.getId());
+        verify(ratingService, never()).reconcile(Mockito.anyInt());
+        verify(pokemonRepository, never()).findById(Mockito.anyInt());
+    }
+
+    @Test
+    public void PokemonService_DeletePokemonById_ReconcilesRatingWhenFinalStepFails(){
+        runTransactionsInline();
+        ReflectionTestUtils.setField(pokemonService, "deleteChunkSize", 2);
+        when(pokemonRepository.findTypeById(1)).thenReturn(Optional.of("electric"));
+        when(reviewRepository.findIdsByPokemonIdAfter(Mockito.eq(1), Mockito.anyInt(), Mockito.any(Pageable.class)))
+                .thenReturn(Arrays.asList(10, 5000), Arrays.asList(5001));
+        when(pokemonRepository.deletePokemonById(1)).thenReturn(0);
+
+        assertThrows(PokemonNotFoundException.class, () -> pokemonService.deletePokemonId(1));
+        verify(reviewSearchService).removeReview(10);
+        verify(reviewSearchService).removeReview(5000);
+        verify(reviewSearchService, never()).removePokemon(Mockito.anyInt());
+        verify(responseCache).invalidateReviews(1);
+        verify(ratingService).reconcile(1);
+        verify(responseCache).invalidatePokemon(1);
+    }
+
+    @Test
+    public void PokemonService_DeletePokemonById_ThrowsBeforeDeletingWhenPokemonMissing(){
+        when(pokemonRepository.findTypeById(1)).thenReturn(Optional.empty());
+
+        assertThrows(PokemonNotFoundException.class, () -> pokemonService.deletePokemonId(1));
+        verify(reviewRepository, never()).deleteByPokemonIdUpTo(Mockito.anyInt(), Mockito.anyInt());
+        verify(reviewRepository, never()).deleteAllByPokemonId(Mockito.anyInt());
+        verify(ratingService, never()).deleteRating(Mockito.anyInt());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        Mockito.doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(Mockito.any());
     }
 }
@@ -0,0 +1,117 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.cache.ResponseCache;
+import com.pokemonreview.api.dto.PokemonRatingDto;
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.Review;
+import com.pokemonreview.api.repository.PokemonRatingRepository;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.impl.RatingServiceImpl;
+import com.pokemonreview.api.service.impl.ReviewSearchServiceImpl;
+import com.pokemonreview.api.service.impl.ReviewServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import({RatingServiceImpl.class, ReviewServiceImpl.class, ReviewSearchServiceImpl.class, ResponseCache.class})
+public class RatingServiceTests {
+
+    @Autowired
+    private RatingService ratingService;
+    @Autowired
+    private ReviewService reviewService;
+    @Autowired
+    private PokemonRepository pokemonRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private PokemonRatingRepository ratingRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Pokemon pokemon;
+
+    @BeforeEach
+    public void init() {
+        pokemon = pokemonRepository.save(Pokemon.builder().name("pikatchu").type("electric").build());
+    }
+
+    @Test
+    public void RatingService_ReviewChanges_KeepSummaryInSync() {
+        //Arrange
+        ReviewDto first = reviewService.createReview(pokemon.getId(), ReviewDto.builder().title("a").content("a").stars(5).build());
+        ReviewDto second = reviewService.createReview(pokemon.getId(), ReviewDto.builder().title("b").content("b").stars(3).build());
+        reviewService.createReview(pokemon.getId(), ReviewDto.builder().title("c").content("c").stars(4).build());
+
+        //Act
+        reviewService.updateReview(pokemon.getId(), second.getId(), ReviewDto.builder().title("b").content("b").stars(1).build());
+        reviewService.deleteReview(pokemon.getId(), first.getId());
+        entityManager.flush();
+        entityManager.clear();
+        PokemonRatingDto rating = ratingService.getRating(pokemon.getId());
+
+        //Assert
+        Assertions.assertThat(rating.getReviewCount()).isEqualTo(2);
+        Assertions.assertThat(rating.getAverageStars()).isEqualTo(2.5);
+        Assertions.assertThat(rating.getHistogram()).containsEntry(1, 1L).containsEntry(4, 1L).containsEntry(5, 0L);
+    }
+
+    @Test
+    public void RatingService_FirstReview_SeedsSummaryFromExistingReviews() {
+        //Arrange (reviews written before the Pokemon had a summary row)
+        reviewRepository.save(Review.builder().title("a").content("a").stars(2).pokemon(pokemon).build());
+        reviewRepository.save(Review.builder().title("b").content("b").stars(4).pokemon(pokemon).build());
+        entityManager.flush();
+        PokemonRatingDto unseeded = ratingService.getRating(pokemon.getId());
+
+        //Act
+        reviewService.createReview(pokemon.getId(), ReviewDto.builder().title("c").content("c").stars(3).build());
+        entityManager.flush();
+        entityManager.clear();
+        PokemonRatingDto rating = ratingService.getRating(pokemon.getId());
+
+        //Assert
+        Assertions.assertThat(unseeded.getReviewCount()).isEqualTo(2);
+        Assertions.assertThat(rating.getReviewCount()).isEqualTo(3);
+        Assertions.assertThat(rating.getAverageStars()).isEqualTo(3.0);
+        Assertions.assertThat(rating.getHistogram()).containsEntry(2, 1L).containsEntry(3, 1L).containsEntry(4, 1L);
+    }
+
+    @Test
+    public void RatingService_Reconcile_RebuildsSummaryFromReviews() {
+        //Arrange (reviews written behind the service's back)
+        reviewRepository.save(Review.builder().title("a").content("a").stars(2).pokemon(pokemon).build());
+        reviewRepository.save(Review.builder().title("b").content("b").stars(4).pokemon(pokemon).build());
+        entityManager.flush();
+
+        //Act
+        PokemonRatingDto rating = ratingService.reconcile(pokemon.getId());
+        int reconciled = ratingService.reconcileAll();
+        entityManager.flush();
+        entityManager.clear();
+
+        //Assert
+        Assertions.assertThat(rating.getReviewCount()).isEqualTo(2);
+        Assertions.assertThat(rating.getAverageStars()).isEqualTo(3.0);
+        Assertions.assertThat(reconciled).isEqualTo(1);
+        Assertions.assertThat(ratingRepository.findById(pokemon.getId()).get().getStarSum()).isEqualTo(6);
+    }
+
+    @Test
+    public void RatingService_GetRating_ReturnsEmptySummaryForPokemonWithoutReviews() {
+        PokemonRatingDto rating = ratingService.getRating(pokemon.getId());
+
+        Assertions.assertThat(rating.getReviewCount()).isEqualTo(0);
+        Assertions.assertThat(rating.getAverageStars()).isEqualTo(0.0);
+    }
+}
@@ -0,0 +1,55 @@
+package com.pokemonreview.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokemonreview.api.dto.ReviewExportRow;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.Review;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.impl.ReviewExportServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import({ReviewExportServiceImpl.class, ObjectMapper.class})
+public class ReviewExportServiceTests {
+
+    @Autowired
+    private ReviewExportService reviewExportService;
+    @Autowired
+    private PokemonRepository pokemonRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void ReviewExportService_ExportReviews_WritesOneJsonLinePerReviewAfterId() throws Exception {
+        //Arrange
+        Pokemon pokemon = pokemonRepository.save(Pokemon.builder().name("pikatchu").type("electric").build());
+        Review first = reviewRepository.save(Review.builder().title("first").content("a").stars(5).pokemon(pokemon).build());
+        reviewRepository.save(Review.builder().title("second").content("b").stars(4).pokemon(pokemon).build());
+        reviewRepository.save(Review.builder().title("third").content("c").stars(3).pokemon(pokemon).build());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //Act
+        long written = reviewExportService.exportReviews(first.getId(), out);
+
+        //Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        ReviewExportRow row = objectMapper.readValue(lines[0], ReviewExportRow.class);
+        Assertions.assertThat(written).isEqualTo(2);
+        Assertions.assertThat(lines).hasSize(2);
+        Assertions.assertThat(row.getTitle()).isEqualTo("second");
+        Assertions.assertThat(row.getPokemonId()).isEqualTo(pokemon.getId());
+    }
+}
@@ -0,0 +1,76 @@
+package com.pokemonreview.api.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokemonreview.api.cache.ResponseCache;
+import com.pokemonreview.api.dto.ReviewIngestResponse;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.impl.RatingServiceImpl;
+import com.pokemonreview.api.service.impl.ReviewIngestServiceImpl;
+import com.pokemonreview.api.service.impl.ReviewSearchServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import({ReviewIngestServiceImpl.class, RatingServiceImpl.class, ObjectMapper.class, ReviewSearchServiceImpl.class, ResponseCache.class})
+public class ReviewIngestServiceTests {
+
+    @Autowired
+    private ReviewIngestService reviewIngestService;
+    @Autowired
+    private RatingService ratingService;
+    @Autowired
+    private PokemonRepository pokemonRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Test
+    public void ReviewIngestService_Ingest_InsertsValidRowsAndRejectsUnknownPokemon() throws Exception {
+        //Arrange
+        Pokemon pikachu = pokemonRepository.save(Pokemon.builder().name("pikatchu").type("electric").build());
+        Pokemon squirtle = pokemonRepository.save(Pokemon.builder().name("squirtle").type("water").build());
+        String json = "[" +
+                review(pikachu.getId(), "a", 5) + "," +
+                review(squirtle.getId(), "b", 3) + "," +
+                review(-1, "c", 4) + "," +
+                review(pikachu.getId(), "d", 9) + "," +
+                review(pikachu.getId(), "e", 1) + "]";
+
+        //Act
+        ReviewIngestResponse response = reviewIngestService.ingest(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        //Assert
+        Assertions.assertThat(response.getInserted()).isEqualTo(3);
+        Assertions.assertThat(response.getRejected()).isEqualTo(2);
+        Assertions.assertThat(response.getErrors()).hasSize(2);
+        Assertions.assertThat(reviewRepository.findByPokemonId(pikachu.getId())).hasSize(2);
+        Assertions.assertThat(ratingService.getRating(pikachu.getId()).getAverageStars()).isEqualTo(3.0);
+    }
+
+    @Test
+    public void ReviewIngestService_Ingest_RejectsNonObjectElement() {
+        //Arrange
+        Pokemon pikachu = pokemonRepository.save(Pokemon.builder().name("pikatchu").type("electric").build());
+        String json = "[" + review(pikachu.getId(), "a", 5) + ", 42, " + review(pikachu.getId(), "b", 4) + "]";
+
+        //Act & Assert
+        Assertions.assertThatThrownBy(() -> reviewIngestService.ingest(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(JsonParseException.class)
+                .hasMessageContaining("index 1");
+    }
+
+    private String review(int pokemonId, String title, int stars) {
+        return "{\"pokemonId\":" + pokemonId + ",\"title\":\"" + title + "\",\"content\":\"x\",\"stars\":" + stars + "}";
+    }
+}
@@ -0,0 +1,78 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.ReviewSearchResult;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.Review;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.impl.ReviewSearchServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(ReviewSearchServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReviewSearchServiceTests {
+
+    @Autowired
+    private ReviewSearchService reviewSearchService;
+    @Autowired
+    private PokemonRepository pokemonRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @AfterEach
+    public void cleanup() {
+        reviewRepository.deleteAllInBatch();
+        pokemonRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void ReviewSearchService_Rebuild_IndexesEveryChunkAndSearchReturnsReviews() {
+        //Arrange
+        Pokemon pokemon = pokemonRepository.save(Pokemon.builder().name("pikachu").type("electric").build());
+        for (int i = 0; i < 5; i++) {
+            reviewRepository.save(Review.builder().title("review " + i).content("plain text").stars(3).pokemon(pokemon).build());
+        }
+        Review thunder = reviewRepository.save(Review.builder().title("Thunder shock").content("Thunder shock is great").stars(5).pokemon(pokemon).build());
+        ReflectionTestUtils.setField(reviewSearchService, "rebuildChunkSize", 2);
+
+        //Act
+        int indexed = reviewSearchService.rebuild();
+        List<ReviewSearchResult> results = reviewSearchService.search("\"thunder shock\"", 10);
+
+        //Assert
+        Assertions.assertThat(indexed).isEqualTo(6);
+        Assertions.assertThat(results).extracting(ReviewSearchResult::getId).containsExactly(thunder.getId());
+        Assertions.assertThat(results.get(0).getPokemonId()).isEqualTo(pokemon.getId());
+        Assertions.assertThat(results.get(0).getScore()).isPositive();
+    }
+
+    @Test
+    public void ReviewSearchService_RemovePokemon_DropsItsReviewsFromResults() {
+        //Arrange
+        Pokemon pokemon = pokemonRepository.save(Pokemon.builder().name("squirtle").type("water").build());
+        Review review = reviewRepository.save(Review.builder().title("Water gun").content("splash").stars(4).pokemon(pokemon).build());
+        reviewSearchService.indexReview(review.getId(), pokemon.getId(), review.getTitle(), review.getContent());
+
+        //Act
+        List<ReviewSearchResult> before = reviewSearchService.search("water", 10);
+        reviewSearchService.removePokemon(pokemon.getId());
+
+        //Assert
+        Assertions.assertThat(before).hasSize(1);
+        Assertions.assertThat(reviewSearchService.search("water", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,57 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.models.Review;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.impl.ReviewSequenceMigration;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(ReviewSequenceMigration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReviewSequenceMigrationTests {
+
+    @Autowired
+    private ReviewSequenceMigration reviewSequenceMigration;
+    @Autowired
+    private PokemonRepository pokemonRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void cleanup() {
+        reviewRepository.deleteAll();
+        pokemonRepository.deleteAll();
+    }
+
+    @Test
+    public void ReviewSequenceMigration_AdvancePastExistingIds_NewReviewsDoNotCollide() {
+        //Arrange (a review from before the sequence existed)
+        Pokemon pokemon = pokemonRepository.save(Pokemon.builder().name("pikatchu").type("electric").build());
+        jdbcTemplate.update("insert into review (id, title, content, stars, version, pokemon_id) values (1000, 'old', 'old', 3, 0, ?)",
+                pokemon.getId());
+
+        //Act
+        boolean advanced = reviewSequenceMigration.advancePastExistingIds();
+        Review review = reviewRepository.save(Review.builder().title("new").content("new").stars(4).pokemon(pokemon).build());
+
+        //Assert
+        Assertions.assertThat(advanced).isTrue();
+        Assertions.assertThat(review.getId()).isGreaterThan(1000);
+        Assertions.assertThat(reviewSequenceMigration.advancePastExistingIds()).isFalse();
+    }
+}
@@ -0,0 +1,106 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.cache.ResponseCache;
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewQuery;
+import com.pokemonreview.api.dto.ReviewSort;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.repository.PokemonRatingRepository;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.impl.RatingServiceImpl;
+import com.pokemonreview.api.service.impl.ReviewSearchServiceImpl;
+import com.pokemonreview.api.service.impl.ReviewServiceImpl;
+import com.pokemonreview.api.sql.SqlBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Statement budgets for every {@link ReviewService} method. The setup creates a review through the service,
+ * so the review sequence block is already allocated when counting starts.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import({ReviewServiceImpl.class, RatingServiceImpl.class, ReviewSearchServiceImpl.class, ResponseCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReviewServiceSqlBudgetTests {
+
+    @Autowired
+    private ReviewService reviewService;
+    @Autowired
+    private RatingService ratingService;
+    @Autowired
+    private PokemonRepository pokemonRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private PokemonRatingRepository ratingRepository;
+
+    private Pokemon pokemon;
+    private ReviewDto review;
+
+    @BeforeEach
+    public void init() {
+        pokemon = pokemonRepository.save(Pokemon.builder().name("pikachu").type("electric").build());
+        ratingService.createRating(pokemon.getId());
+        review = reviewService.createReview(pokemon.getId(), ReviewDto.builder().title("a").content("a").stars(5).build());
+        reviewService.createReview(pokemon.getId(), ReviewDto.builder().title("b").content("b").stars(3).build());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        reviewRepository.deleteAllInBatch();
+        ratingRepository.deleteAllInBatch();
+        pokemonRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @SqlBudget(selects = 1, inserts = 1, updates = 1)
+    public void ReviewService_CreateReview_StaysWithinSqlBudget() {
+        reviewService.createReview(pokemon.getId(), ReviewDto.builder().title("c").content("c").stars(4).build());
+    }
+
+    @Test
+    @SqlBudget(selects = 1)
+    public void ReviewService_GetReviewsByPokemonId_StaysWithinSqlBudget() {
+        reviewService.getReviewsByPokemonId(pokemon.getId());
+    }
+
+    @Test
+    @SqlBudget(selects = 1)
+    public void ReviewService_GetReviewsByPokemonIdPaged_StaysWithinSqlBudget() {
+        reviewService.getReviewsByPokemonId(pokemon.getId(), ReviewQuery.builder().pageSize(1).sort(ReviewSort.STARS).build());
+    }
+
+    @Test
+    @SqlBudget(selects = 1)
+    public void ReviewService_GetReviewById_StaysWithinSqlBudget() {
+        reviewService.getReviewById(review.getId(), pokemon.getId());
+    }
+
+    @Test
+    @SqlBudget(selects = 1)
+    public void ReviewService_GetReviewVersion_StaysWithinSqlBudget() {
+        reviewService.getReviewVersion(review.getId(), pokemon.getId());
+    }
+
+    @Test
+    @SqlBudget(selects = 1, updates = 2)
+    public void ReviewService_UpdateReview_StaysWithinSqlBudget() {
+        reviewService.updateReview(pokemon.getId(), review.getId(), ReviewDto.builder().title("a").content("a").stars(1).build());
+    }
+
+    @Test
+    @SqlBudget(selects = 1, updates = 1, deletes = 1)
+    public void ReviewService_DeleteReview_StaysWithinSqlBudget() {
+        reviewService.deleteReview(pokemon.getId(), review.getId());
+    }
+}
@@ -1,6 +1,15 @@
 package com.pokemonreview.api.service;
 
+import com.pokemonreview.api.cache.ResponseCache;
 import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.dto.ReviewField;
+import com.pokemonreview.api.dto.ReviewQuery;
+import com.pokemonreview.api.dto.ReviewResponse;
+import com.pokemonreview.api.dto.ReviewSort;
+import com.pokemonreview.api.exceptions.InvalidCursorException;
+import com.pokemonreview.api.exceptions.PreconditionFailedException;
+import com.pokemonreview.api.exceptions.ReviewNotFoundException;
+import com.pokemonreview.api.exceptions.ServiceBusyException;
 import com.pokemonreview.api.models.Pokemon;
 import com.pokemonreview.api.models.Review;
 import com.pokemonreview.api.repository.PokemonRepository;
@@ -13,13 +22,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +47,15 @@ public class ReviewServiceTests {
     @Mock
     private PokemonRepository pokemonRepository;
 
+    @Mock
+    private RatingService ratingService;
+
+    @Mock
+    private ReviewSearchService reviewSearchService;
+
+    @Mock
+    private ResponseCache responseCache;
+
     @InjectMocks
     private ReviewServiceImpl reviewService;
 
@@ -51,6 +77,7 @@ public class ReviewServiceTests {
 
         Assertions.assertThat(createdReview).isNotNull();
         Assertions.assertThat(createdReview.getId()).isEqualTo(1);
+        verify(responseCache).invalidateReviews(pokemon.getId());
 
     }
 
@@ -67,6 +94,41 @@ public class ReviewServiceTests {
 
     }
 
+    @Test
+    public void ReviewService_GetReviewsByPokemonId_ReturnsPageWithStarsCursor(){
+        ReviewDto best = ReviewDto.builder().id(4).title("best").content("content").stars(5).build();
+        ReviewDto good = ReviewDto.builder().id(9).title("good").content("content").stars(4).build();
+
+        when(reviewRepository.findProjected(1, ReviewSort.STARS, Integer.MAX_VALUE, Integer.MAX_VALUE,
+                EnumSet.allOf(ReviewField.class), PageRequest.of(0, 2)))
+                .thenReturn(new SliceImpl<>(Arrays.asList(best, good), PageRequest.of(0, 2), true));
+
+        ReviewResponse firstPage = reviewService.getReviewsByPokemonId(1,
+                ReviewQuery.builder().pageSize(2).sort(ReviewSort.STARS).build());
+
+        when(reviewRepository.findProjected(1, ReviewSort.STARS, 4, 9, EnumSet.allOf(ReviewField.class), PageRequest.of(0, 2)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>(), PageRequest.of(0, 2), false));
+
+        ReviewResponse secondPage = reviewService.getReviewsByPokemonId(1,
+                ReviewQuery.builder().pageSize(2).after(firstPage.getNextCursor()).sort(ReviewSort.STARS).build());
+
+        Assertions.assertThat(firstPage.getContent()).extracting(ReviewDto::getId).containsExactly(4, 9);
+        Assertions.assertThat(firstPage.isLast()).isFalse();
+        Assertions.assertThat(secondPage.getNextCursor()).isNull();
+        Assertions.assertThat(secondPage.isLast()).isTrue();
+    }
+
+    @Test
+    public void ReviewService_GetReviewsByPokemonId_RejectsCursorOutsideIntRange(){
+        // 2^32 + 1 would wrap around to id 1
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("4294967297".getBytes(StandardCharsets.US_ASCII));
+
+        assertThrows(InvalidCursorException.class, () -> reviewService.getReviewsByPokemonId(1,
+                ReviewQuery.builder().pageSize(2).after(cursor).build()));
+        verify(reviewRepository, never()).findProjected(Mockito.anyInt(), Mockito.any(), Mockito.anyInt(), Mockito.anyInt(),
+                Mockito.any(), Mockito.any());
+    }
+
     @Test
     public void ReviewService_GetReviewById_ReturnsReviewDto(){
         Pokemon pokemon = Pokemon.builder().id(1).name("pikatchu").type("electric").build();
@@ -74,8 +136,7 @@ public class ReviewServiceTests {
 
         review.setPokemon(pokemon);
 
-        when(pokemonRepository.findById(pokemon.getId())).thenReturn(Optional.ofNullable(pokemon));
-        when(reviewRepository.findById(review.getId())).thenReturn(Optional.ofNullable(review));
+        when(reviewRepository.findByIdAndPokemonId(review.getId(), pokemon.getId())).thenReturn(Optional.ofNullable(review));
 
         ReviewDto retrievedDto = reviewService.getReviewById(review.getId(),pokemon.getId());
 
@@ -83,19 +144,21 @@ public class ReviewServiceTests {
 
     }
 
+    @Test
+    public void ReviewService_GetReviewById_ThrowsWhenReviewBelongsToAnotherPokemon(){
+        when(reviewRepository.findByIdAndPokemonId(1, 2)).thenReturn(Optional.empty());
+
+        assertThrows(ReviewNotFoundException.class, () -> reviewService.getReviewById(1, 2));
+    }
+
     @Test
     public void ReviewService_updateReview_ReturnsReviewDto(){
         Pokemon pokemon = Pokemon.builder().id(1).name("pikatchu").type("electric").build();
         Review review = Review.builder().id(1).title("title").content("content").stars(5).build();
 
-        when(pokemonRepository.findById(pokemon.getId())).thenReturn(Optional.ofNullable(pokemon));
-        when(reviewRepository.findById(review.getId())).thenReturn(Optional.ofNullable(review));
-
-        pokemon.setReviews(Arrays.asList(review));
-        review.setPokemon(pokemon);
-
-        when(reviewRepository.save(review)).thenReturn(review);
-
+        when(reviewRepository.findStarsAndVersionByIdAndPokemonId(review.getId(), pokemon.getId())).thenReturn(Optional.of(state(3, 2)));
+        when(reviewRepository.updateByIdAndPokemonId(review.getId(), pokemon.getId(), 2,
+                review.getTitle(), review.getContent(), review.getStars())).thenReturn(1);
 
         ReviewDto updatedReview = reviewService.updateReview(pokemon.getId(),review.getId(),
                 new ReviewDto(review.getId(),
@@ -104,7 +167,10 @@ public class ReviewServiceTests {
                         review.getStars()));
 
         Assertions.assertThat(updatedReview).isNotNull();
-
+        Assertions.assertThat(updatedReview.getStars()).isEqualTo(5);
+        Assertions.assertThat(updatedReview.getVersion()).isEqualTo(3);
+        verify(ratingService).applyDelta(Mockito.eq(pokemon.getId()), Mockito.any(RatingDelta.class));
+        verify(reviewRepository, never()).save(Mockito.any(Review.class));
 
     }
 
@@ -113,12 +179,51 @@ public class ReviewServiceTests {
         Review review = Review.builder().id(1).title("title").content("content").stars(5).build();
         Pokemon pokemon = Pokemon.builder().id(1).name("pikatchu").type("electric").build();
 
-        review.setPokemon(pokemon);
-        pokemon.setReviews(Arrays.asList(review));
-
-        when(reviewRepository.findById(review.getId())).thenReturn(Optional.ofNullable(review));
-        when(pokemonRepository.findById(pokemon.getId())).thenReturn(Optional.ofNullable(pokemon));
+        when(reviewRepository.findStarsAndVersionByIdAndPokemonId(review.getId(), pokemon.getId())).thenReturn(Optional.of(state(review.getStars(), 0)));
+        when(reviewRepository.deleteByIdAndPokemonId(review.getId(), pokemon.getId(), 0)).thenReturn(1);
 
         assertAll(() -> reviewService.deleteReview(pokemon.getId(), review.getId()));
     }
+
+    @Test
+    public void ReviewService_DeleteReview_ThrowsWhenReviewNotOwned(){
+        when(reviewRepository.findStarsAndVersionByIdAndPokemonId(1, 2)).thenReturn(Optional.empty());
+
+        assertThrows(ReviewNotFoundException.class, () -> reviewService.deleteReview(2, 1));
+        verify(reviewRepository, never()).deleteByIdAndPokemonId(Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @Test
+    public void ReviewService_DeleteReview_GivesUpAfterRepeatedConcurrentChanges(){
+        when(reviewRepository.findStarsAndVersionByIdAndPokemonId(1, 1)).thenReturn(Optional.of(state(5, 0)));
+        when(reviewRepository.deleteByIdAndPokemonId(1, 1, 0)).thenReturn(0);
+
+        assertThrows(ServiceBusyException.class, () -> reviewService.deleteReview(1, 1));
+        verify(reviewRepository, Mockito.times(3)).deleteByIdAndPokemonId(1, 1, 0);
+        verify(ratingService, never()).applyDelta(Mockito.anyInt(), Mockito.any(RatingDelta.class));
+    }
+
+    @Test
+    public void ReviewService_UpdateReview_ThrowsWhenIfMatchVersionIsStale(){
+        when(reviewRepository.findStarsAndVersionByIdAndPokemonId(1, 1)).thenReturn(Optional.of(state(5, 4)));
+
+        assertThrows(PreconditionFailedException.class, () -> reviewService.updateReview(1, 1,
+                ReviewDto.builder().title("title").content("content").stars(1).build(), 3));
+        verify(reviewRepository, never()).updateByIdAndPokemonId(Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt(),
+                Mockito.any(), Mockito.any(), Mockito.anyInt());
+    }
+
+    private ReviewRepository.StarsAndVersion state(int stars, int version) {
+        return new ReviewRepository.StarsAndVersion() {
+            @Override
+            public int getStars() {
+                return stars;
+            }
+
+            @Override
+            public int getVersion() {
+                return version;
+            }
+        };
+    }
 }
@@ -0,0 +1,127 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.cache.ResponseCache;
+import com.pokemonreview.api.dto.ReviewDto;
+import com.pokemonreview.api.exceptions.PokemonNotFoundException;
+import com.pokemonreview.api.exceptions.ServiceBusyException;
+import com.pokemonreview.api.models.Pokemon;
+import com.pokemonreview.api.repository.PokemonRepository;
+import com.pokemonreview.api.repository.ReviewRepository;
+import com.pokemonreview.api.service.impl.RatingServiceImpl;
+import com.pokemonreview.api.service.impl.ReviewSearchServiceImpl;
+import com.pokemonreview.api.service.impl.ReviewWriteBehindServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import({ReviewWriteBehindServiceImpl.class, RatingServiceImpl.class, ReviewSearchServiceImpl.class, ResponseCache.class,
+        ReviewWriteBehindServiceTests.Metrics.class})
+@TestPropertySource(properties = {
+        "reviews.write-behind.enabled=true",
+        "reviews.write-behind.flush-size=3",
+        "reviews.write-behind.flush-interval-millis=20"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReviewWriteBehindServiceTests {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private ReviewWriteBehindService reviewWriteBehindService;
+    @Autowired
+    private RatingService ratingService;
+    @Autowired
+    private PokemonRepository pokemonRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void ReviewWriteBehindService_Enqueue_WritesBatchesWithPreallocatedIds() throws Exception {
+        //Arrange
+        Pokemon pikachu = pokemonRepository.save(Pokemon.builder().name("pikatchu").type("electric").build());
+        List<ReviewDto> accepted = new ArrayList<>();
+        long written = meterRegistry.get("reviews.writebehind.wait").timer().count();
+
+        //Act
+        for (int i = 0; i < 7; i++) {
+            accepted.add(reviewWriteBehindService.enqueue(pikachu.getId(),
+                    ReviewDto.builder().title("review " + i).content("content").stars(i % 5 + 1).build()));
+        }
+        awaitDrained(written + 7);
+
+        //Assert
+        List<Integer> ids = accepted.stream().map(ReviewDto::getId).collect(Collectors.toList());
+        Assertions.assertThat(ids).doesNotHaveDuplicates().allMatch(id -> id > 0);
+        Assertions.assertThat(reviewRepository.findByPokemonId(pikachu.getId()))
+                .extracting(review -> review.getId())
+                .containsExactlyInAnyOrderElementsOf(ids.subList(0, 7));
+        Assertions.assertThat(ratingService.getRating(pikachu.getId()).getReviewCount()).isEqualTo(7);
+        Assertions.assertThat(meterRegistry.get("reviews.writebehind.dropped").counter().count()).isZero();
+        Assertions.assertThat(meterRegistry.get("reviews.writebehind.batch.size").summary().max()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    public void ReviewWriteBehindService_Enqueue_RejectsUnknownPokemonBeforeAccepting() {
+        Assertions.assertThatThrownBy(() -> reviewWriteBehindService.enqueue(-1, ReviewDto.builder().title("orphan").stars(3).build()))
+                .isInstanceOf(PokemonNotFoundException.class);
+        Assertions.assertThat(reviewWriteBehindService.getQueueSize()).isZero();
+    }
+
+    @Test
+    public void ReviewWriteBehindService_Stop_WritesEverythingAcceptedAndRejectsTheRest() {
+        //Arrange
+        Pokemon pikachu = pokemonRepository.save(Pokemon.builder().name("pikatchu").type("electric").build());
+        ReviewWriteBehindServiceImpl service = (ReviewWriteBehindServiceImpl) reviewWriteBehindService;
+        List<ReviewDto> accepted = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            accepted.add(service.enqueue(pikachu.getId(), ReviewDto.builder().title("review " + i).content("content").stars(4).build()));
+        }
+
+        //Act
+        service.stop();
+        try {
+            Assertions.assertThatThrownBy(() -> service.enqueue(pikachu.getId(), ReviewDto.builder().title("late").stars(4).build()))
+                    .isInstanceOf(ServiceBusyException.class);
+        } finally {
+            service.start();
+        }
+
+        //Assert
+        Assertions.assertThat(reviewRepository.findByPokemonId(pikachu.getId()))
+                .extracting(review -> review.getId())
+                .containsExactlyInAnyOrderElementsOf(accepted.stream().map(ReviewDto::getId).collect(Collectors.toList()));
+        Assertions.assertThat(service.getQueueSize()).isZero();
+    }
+
+    private void awaitDrained(long written) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline && meterRegistry.get("reviews.writebehind.wait").timer().count() < written) {
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.pokemonreview.api.service;
+
+import com.pokemonreview.api.dto.RegisterDto;
+import com.pokemonreview.api.dto.UserImportFailure;
+import com.pokemonreview.api.dto.UserImportResponse;
+import com.pokemonreview.api.models.Role;
+import com.pokemonreview.api.models.UserEntity;
+import com.pokemonreview.api.repository.RoleRepository;
+import com.pokemonreview.api.repository.UserRepository;
+import com.pokemonreview.api.service.impl.UserServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.Arrays;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import({UserServiceImpl.class, UserServiceTests.Config.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class UserServiceTests {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @BeforeEach
+    public void init() {
+        Role role = new Role();
+        role.setName("USER");
+        roleRepository.save(role);
+    }
+
+    @Test
+    public void UserService_Register_SavesUserWithDefaultRole() {
+        //Act
+        boolean registered = userService.register(registerDto("ash", "pikachu"));
+
+        //Assert
+        UserEntity user = userRepository.findByUsername("ash").get();
+        Assertions.assertThat(registered).isTrue();
+        Assertions.assertThat(user.getPassword()).isNotEqualTo("pikachu");
+        Assertions.assertThat(user.getRoles()).extracting(Role::getName).containsExactly("USER");
+    }
+
+    @Test
+    public void UserService_Register_ReturnsFalseForTakenUsername() {
+        //Arrange
+        userService.register(registerDto("ash", "pikachu"));
+
+        //Act
+        boolean registered = userService.register(registerDto("ash", "charmander"));
+
+        //Assert
+        Assertions.assertThat(registered).isFalse();
+    }
+
+    @Test
+    public void UserService_ImportUsers_ReportsPerRowFailures() {
+        //Arrange
+        userService.register(registerDto("misty", "starmie"));
+
+        //Act
+        UserImportResponse response = userService.importUsers(Arrays.asList(
+                registerDto("brock", "onix"),
+                registerDto("misty", "staryu"),
+                registerDto("brock", "geodude"),
+                registerDto("", "nopassword"),
+                registerDto("gary", "eevee")));
+
+        //Assert
+        Assertions.assertThat(response.getImported()).isEqualTo(2);
+        Assertions.assertThat(response.getFailed()).isEqualTo(3);
+        Assertions.assertThat(response.getFailures()).extracting(UserImportFailure::getRow).containsExactly(1, 2, 3);
+        Assertions.assertThat(userRepository.findByUsername("gary").get().getRoles()).extracting(Role::getName).containsExactly("USER");
+        Assertions.assertThat(userRepository.existsByUsername("brock")).isTrue();
+    }
+
+    private RegisterDto registerDto(String username, String password) {
+        RegisterDto registerDto = new RegisterDto();
+        registerDto.setUsername(username);
+        registerDto.setPassword(password);
+        return registerDto;
+    }
+}
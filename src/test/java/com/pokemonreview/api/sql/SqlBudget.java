@@ -0,0 +1,22 @@
+package com.pokemonreview.api.sql;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of statements a test may send, per kind. Counting starts after {@code @BeforeEach}
+ * and restarts at every {@link SqlStatementCounter#reset()}, so tests reset after their own arrange step.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(SqlBudgetExtension.class)
+public @interface SqlBudget {
+    int selects() default 0;
+    int inserts() default 0;
+    int updates() default 0;
+    int deletes() default 0;
+}
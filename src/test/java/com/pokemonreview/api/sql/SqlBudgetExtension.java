@@ -0,0 +1,36 @@
+package com.pokemonreview.api.sql;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+
+public class SqlBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        SqlStatementCounter.reset();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        SqlBudget budget = context.getRequiredTestMethod().getAnnotation(SqlBudget.class);
+        StringBuilder overruns = new StringBuilder();
+        check(overruns, "selects", SqlStatementCounter.selects(), budget.selects());
+        check(overruns, "inserts", SqlStatementCounter.inserts(), budget.inserts());
+        check(overruns, "updates", SqlStatementCounter.updates(), budget.updates());
+        check(overruns, "deletes", SqlStatementCounter.deletes(), budget.deletes());
+        if (overruns.length() > 0) {
+            throw new AssertionFailedError("SQL budget exceeded in " + context.getDisplayName() + ":" + overruns);
+        }
+    }
+
+    private void check(StringBuilder overruns, String kind, int actual, int allowed) {
+        if (actual > allowed) {
+            overruns.append(' ').append(kind).append(' ').append(actual).append(" > ").append(allowed);
+        }
+    }
+}
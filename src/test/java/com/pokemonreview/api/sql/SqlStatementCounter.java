@@ -0,0 +1,55 @@
+package com.pokemonreview.api.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hibernate {@link StatementInspector} that counts every statement the test JVM sends, by kind.
+ * Registered through {@code hibernate.session_factory.statement_inspector} in the test properties.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final AtomicInteger selects = new AtomicInteger();
+    private static final AtomicInteger inserts = new AtomicInteger();
+    private static final AtomicInteger updates = new AtomicInteger();
+    private static final AtomicInteger deletes = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        String statement = sql.trim().toLowerCase(Locale.ROOT);
+        if (statement.startsWith("select") || statement.startsWith("with") || statement.startsWith("call")) {
+            selects.incrementAndGet();
+        } else if (statement.startsWith("insert")) {
+            inserts.incrementAndGet();
+        } else if (statement.startsWith("update")) {
+            updates.incrementAndGet();
+        } else if (statement.startsWith("delete")) {
+            deletes.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        selects.set(0);
+        inserts.set(0);
+        updates.set(0);
+        deletes.set(0);
+    }
+
+    public static int selects() {
+        return selects.get();
+    }
+
+    public static int inserts() {
+        return inserts.get();
+    }
+
+    public static int updates() {
+        return updates.get();
+    }
+
+    public static int deletes() {
+        return deletes.get();
+    }
+}